@@ -0,0 +1,14 @@
+package com.example.applicationflow.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "applicationflow.threads.virtual.enabled=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"})
+@TestPropertySource(
+        locations = "classpath:application-integrationtest.properties",
+        properties = "spring.jpa.show-sql=false")
+class PlatformThreadBenchmark extends ThreadModeBenchmark {
+}
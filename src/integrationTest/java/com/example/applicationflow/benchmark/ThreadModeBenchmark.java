@@ -0,0 +1,101 @@
+package com.example.applicationflow.benchmark;
+
+import com.example.applicationflow.model.ApplicationDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the same mixed load (list pages and creates, so most requests hold a JDBC connection) against the server in
+ * one thread mode and prints throughput and latency percentiles. Run with {@code ./gradlew benchmark}, which uses a
+ * Java 21 launcher; compare the {@link PlatformThreadBenchmark} and {@link VirtualThreadBenchmark} lines.
+ */
+@Tag("benchmark")
+abstract class ThreadModeBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 100;
+    private static final int WARMUP_REQUESTS = 2000;
+    // one in WRITE_RATIO requests creates an application
+    private static final int WRITE_RATIO = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate template;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void measureThroughputAndLatency() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            template.postForEntity(url("/applications"), ApplicationDto.builder().name("benchmark" + i).content("content").build(), ApplicationDto.class);
+        }
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            request(i);
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> results = new ArrayList<>(CLIENTS);
+        long start = System.nanoTime();
+        for (int client = 0; client < CLIENTS; client++) {
+            results.add(clients.submit(() -> {
+                long[] latencies = new long[REQUESTS_PER_CLIENT];
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    long requestStart = System.nanoTime();
+                    assertEquals(200, request(i));
+                    latencies[i] = System.nanoTime() - requestStart;
+                }
+                return latencies;
+            }));
+        }
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        for (int client = 0; client < CLIENTS; client++) {
+            System.arraycopy(results.get(client).get(), 0, latencies, client * REQUESTS_PER_CLIENT, REQUESTS_PER_CLIENT);
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d requests, %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                getClass().getSimpleName(), latencies.length, latencies.length / (elapsed / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private int request(int i) throws Exception {
+        HttpRequest request = i % WRITE_RATIO == 0
+                ? HttpRequest.newBuilder(URI.create(url("/applications")))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"benchmark\",\"content\":\"content\"}"))
+                .build()
+                : HttpRequest.newBuilder(URI.create(url("/applications?size=20&view=summary"))).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.applicationflow.benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "applicationflow.threads.virtual.enabled=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"})
+@TestPropertySource(
+        locations = "classpath:application-integrationtest.properties",
+        properties = "spring.jpa.show-sql=false")
+class VirtualThreadBenchmark extends ThreadModeBenchmark {
+
+    // checked before the context starts, which would fail without virtual threads
+    @BeforeAll
+    static void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+    }
+
+}
@@ -1,21 +1,47 @@
 package com.example.applicationflow.controller;
 
+import com.example.applicationflow.model.ApplicationAction;
 import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationHistoryEntry;
+import com.example.applicationflow.model.ApplicationImportReport;
+import com.example.applicationflow.model.ApplicationPage;
 import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationTransitionRequest;
+import com.example.applicationflow.model.ApplicationTransitionResult;
+import com.example.applicationflow.model.TransitionOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(
         webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -29,6 +55,9 @@ public class ApplicationControllerIntegrationTest {
     @Autowired
     private TestRestTemplate template;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private final String testApp1Name = "testAppName1";
     private final String testApp1Content = "testApp1Content1";
     private final String cause = "cause for delete and reject";
@@ -228,6 +257,297 @@ public class ApplicationControllerIntegrationTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    @Test
+    public void shouldPageThroughApplicationListFilteredByStatus() {
+        // Given
+        createApplicationForTest();
+        createApplicationForTest();
+
+        // When
+        ResponseEntity<ApplicationPage<ApplicationDto>> firstPage = template.exchange(getUrl("/applications?status=CREATED&size=1"),
+                HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        ResponseEntity<ApplicationPage<ApplicationDto>> secondPage = template.exchange(getUrl("/applications?status=CREATED&size=1&cursor={cursor}"),
+                HttpMethod.GET, null, new ParameterizedTypeReference<>() {}, firstPage.getBody().getNextCursor());
+
+        // Then
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(1, firstPage.getBody().getItems().size());
+        assertNotNull(firstPage.getBody().getNextCursor());
+        assertEquals(HttpStatus.OK, secondPage.getStatusCode());
+        assertEquals(1, secondPage.getBody().getItems().size());
+        assertEquals(ApplicationStatus.CREATED, secondPage.getBody().getItems().get(0).getStatus());
+        assertTrue(secondPage.getBody().getItems().get(0).getId().compareTo(firstPage.getBody().getItems().get(0).getId()) > 0);
+    }
+
+    @Test
+    public void shouldListApplicationSummariesWithoutContent() {
+        // Given
+        createApplicationForTest();
+
+        // When
+        ResponseEntity<String> response = template.getForEntity(getUrl("/applications?view=summary&status=CREATED"), String.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains(testApp1Name));
+        assertFalse(response.getBody().contains(testApp1Content));
+    }
+
+    @Test
+    public void shouldPageThroughApplicationHistory() {
+        // Given
+        String applicationId = createApplicationForTest().getBody().getId();
+        template.postForEntity(getUrl("/verify-application/{id}"), null, String.class, applicationId);
+
+        // When
+        ResponseEntity<ApplicationPage<ApplicationHistoryEntry>> firstPage = template.exchange(getUrl("/applications/{id}/history?size=1"),
+                HttpMethod.GET, null, new ParameterizedTypeReference<>() {}, applicationId);
+        ResponseEntity<ApplicationPage<ApplicationHistoryEntry>> secondPage = template.exchange(getUrl("/applications/{id}/history?size=1&includeContent=true&cursor={cursor}"),
+                HttpMethod.GET, null, new ParameterizedTypeReference<>() {}, applicationId, firstPage.getBody().getNextCursor());
+
+        // Then
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        ApplicationHistoryEntry created = firstPage.getBody().getItems().get(0);
+        assertEquals(ApplicationStatus.CREATED, created.getStatus());
+        assertNull(created.getContent());
+        ApplicationHistoryEntry verified = secondPage.getBody().getItems().get(0);
+        assertEquals(ApplicationStatus.VERIFIED, verified.getStatus());
+        assertEquals(testApp1Content, verified.getContent());
+        assertNull(secondPage.getBody().getNextCursor());
+
+        ResponseEntity<ApplicationDto> version = template.getForEntity(getUrl("/applications/{id}/versions/{eventId}"),
+                ApplicationDto.class, applicationId, created.getEventId());
+        assertEquals(ApplicationStatus.CREATED, version.getBody().getStatus());
+        assertEquals(testApp1Content, version.getBody().getContent());
+    }
+
+    @Test
+    public void shouldNotFindHistoryOfUnknownApplication() {
+        // When
+        ResponseEntity<String> response = template.getForEntity(getUrl("/applications/{id}/history"), String.class, "unknown");
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void shouldNotVerifyUnknownApplication() {
+        // When
+        ResponseEntity<ApplicationDto> response = template.postForEntity(getUrl("/verify-application/{id}"), null, ApplicationDto.class, "unknownApplicationId");
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void shouldReturnConflictForInvalidTransition() {
+        // Given
+        String applicationId = createApplicationForTest().getBody().getId();
+
+        // When
+        ResponseEntity<String> response = template.postForEntity(getUrl("/accept-application/{id}"), null, String.class, applicationId);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"applicationStatus\":\"CREATED\""));
+        assertTrue(response.getBody().contains("\"action\":\"ACCEPT\""));
+    }
+
+    @Test
+    public void shouldApplyTransitionOnlyForCurrentETag() {
+        // Given
+        String applicationId = createApplicationForTest().getBody().getId();
+        ResponseEntity<ApplicationDto> current = template.getForEntity(getUrl("/applications/{id}"), ApplicationDto.class, applicationId);
+        String etag = current.getHeaders().getETag();
+        HttpHeaders ifMatch = new HttpHeaders();
+        ifMatch.setIfMatch(etag);
+
+        // When
+        ResponseEntity<ApplicationDto> verified = template.exchange(getUrl("/verify-application/{id}"), HttpMethod.POST,
+                new HttpEntity<>(ifMatch), ApplicationDto.class, applicationId);
+        ResponseEntity<String> staleEdit = template.exchange(getUrl("/applications/{id}/content"), HttpMethod.PUT,
+                new HttpEntity<>("staleContent", ifMatch), String.class, applicationId);
+
+        // Then
+        assertNotNull(etag);
+        assertEquals(HttpStatus.OK, verified.getStatusCode());
+        assertEquals(current.getBody().getVersion() + 1, verified.getBody().getVersion());
+        assertNotEquals(etag, verified.getHeaders().getETag());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, staleEdit.getStatusCode());
+    }
+
+    @Test
+    public void shouldRejectMalformedListParameters() {
+        // Given
+        // When
+        ResponseEntity<String> invalidCursor = template.getForEntity(getUrl("/applications?cursor={cursor}"), String.class, "not.a-cursor");
+        ResponseEntity<String> invalidSize = template.getForEntity(getUrl("/applications?size=0"), String.class);
+        ResponseEntity<String> unknownView = template.getForEntity(getUrl("/applications?view=compact"), String.class);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, invalidCursor.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, invalidCursor.getHeaders().getContentType());
+        assertEquals(HttpStatus.BAD_REQUEST, invalidSize.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, unknownView.getStatusCode());
+    }
+
+    @Test
+    public void shouldRejectMalformedIfMatch() {
+        // Given
+        String applicationId = createApplicationForTest().getBody().getId();
+        HttpHeaders ifMatch = new HttpHeaders();
+        ifMatch.set(HttpHeaders.IF_MATCH, "\"not-a-version\"");
+
+        // When
+        ResponseEntity<String> response = template.exchange(getUrl("/verify-application/{id}"), HttpMethod.POST,
+                new HttpEntity<>(ifMatch), String.class, applicationId);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(ApplicationStatus.CREATED,
+                template.getForEntity(getUrl("/applications/{id}"), ApplicationDto.class, applicationId).getBody().getStatus());
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedForCurrentETag() {
+        // Given
+        String applicationId = createApplicationForTest().getBody().getId();
+        String etag = template.getForEntity(getUrl("/applications/{id}"), ApplicationDto.class, applicationId).getHeaders().getETag();
+        HttpHeaders ifNoneMatch = new HttpHeaders();
+        ifNoneMatch.setIfNoneMatch(etag);
+
+        // When
+        ResponseEntity<String> response = template.exchange(getUrl("/applications/{id}"), HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch), String.class, applicationId);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    public void shouldApplyBulkTransitions() {
+        // Given
+        String first = createApplicationForTest().getBody().getId();
+        String second = createApplicationForTest().getBody().getId();
+        List<ApplicationTransitionRequest> requests = List.of(
+                new ApplicationTransitionRequest(first, ApplicationAction.VERIFY, null),
+                new ApplicationTransitionRequest(second, ApplicationAction.ACCEPT, null),
+                new ApplicationTransitionRequest("unknown", ApplicationAction.VERIFY, null),
+                new ApplicationTransitionRequest(first, ApplicationAction.ACCEPT, null));
+
+        // When
+        ResponseEntity<List<ApplicationTransitionResult>> response = template.exchange(getUrl("/applications/transitions"),
+                HttpMethod.POST, new HttpEntity<>(requests), new ParameterizedTypeReference<>() {});
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(TransitionOutcome.SUCCESS, TransitionOutcome.INVALID_STATUS, TransitionOutcome.NOT_FOUND, TransitionOutcome.SUCCESS),
+                response.getBody().stream().map(ApplicationTransitionResult::getOutcome).toList());
+        ApplicationDto accepted = template.getForEntity(getUrl("/applications/{id}"), ApplicationDto.class, first).getBody();
+        assertEquals(ApplicationStatus.ACCEPTED, accepted.getStatus());
+        assertEquals(2L, accepted.getVersion());
+    }
+
+    @Test
+    public void shouldImportApplicationsFromCsv() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        String csv = "name,content\nimportedName1,importedContent1\n,missingName\n\"importedName3\",\"imported, content3\"\n";
+
+        // When
+        ResponseEntity<ApplicationImportReport> response = template.postForEntity(getUrl("/applications/import"),
+                new HttpEntity<>(csv, headers), ApplicationImportReport.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getImported());
+        assertEquals(1, response.getBody().getRejected());
+        assertEquals(2L, response.getBody().getErrors().get(0).getRow());
+        ResponseEntity<String> list = template.getForEntity(getUrl("/applications?view=summary&size=500"), String.class);
+        assertTrue(list.getBody().contains("importedName3"));
+    }
+
+    @Test
+    public void shouldShowTransitionTable() {
+        // When
+        ResponseEntity<String> response = template.getForEntity(getUrl("/applications/transitions"), String.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getHeaders().getCacheControl());
+        assertTrue(response.getBody().contains("\"CREATED\""));
+    }
+
+    @Test
+    public void shouldExportApplicationsAsNdjson() throws Exception {
+        // Given
+        String applicationId = createApplicationForTest().getBody().getId();
+
+        // When
+        ResponseEntity<String> response = template.getForEntity(getUrl("/applications/export"), String.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        List<ApplicationDto> exported = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            exported.add(objectMapper.readValue(line, ApplicationDto.class));
+        }
+        assertTrue(exported.stream().anyMatch(applicationDto -> applicationDto.getId().equals(applicationId)));
+    }
+
+    @Test
+    public void shouldCountApplicationsPerStatus() {
+        // Given
+        ParameterizedTypeReference<Map<ApplicationStatus, Long>> countsType = new ParameterizedTypeReference<>() {
+        };
+        Map<ApplicationStatus, Long> before = template.exchange(getUrl("/applications/stats"), HttpMethod.GET, null, countsType).getBody();
+        String firstId = createApplicationForTest().getBody().getId();
+        createApplicationForTest();
+        template.postForEntity(getUrl("/verify-application/{id}"), null, String.class, firstId);
+
+        // When
+        ResponseEntity<Map<ApplicationStatus, Long>> response = template.exchange(getUrl("/applications/stats"), HttpMethod.GET, null, countsType);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(before);
+        assertEquals(before.get(ApplicationStatus.CREATED) + 1, response.getBody().get(ApplicationStatus.CREATED));
+        assertEquals(before.get(ApplicationStatus.VERIFIED) + 1, response.getBody().get(ApplicationStatus.VERIFIED));
+        assertEquals(ApplicationStatus.values().length, response.getBody().size());
+    }
+
+    @Test
+    public void shouldReplayChangesAfterLastEventId() throws Exception {
+        // Given
+        String firstId = createApplicationForTest().getBody().getId();
+        ApplicationPage<ApplicationHistoryEntry> history = template.exchange(getUrl("/applications/{id}/history"), HttpMethod.GET, null,
+                new ParameterizedTypeReference<ApplicationPage<ApplicationHistoryEntry>>() {
+                }, firstId).getBody();
+        String lastEventId = history.getItems().get(0).getEventId().toString();
+        String secondId = createApplicationForTest().getBody().getId();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(getUrl("/applications/changes")))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .header("Last-Event-ID", lastEventId)
+                .build();
+
+        // When
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        String replayed = CompletableFuture.supplyAsync(() -> response.body()
+                        .filter(line -> line.startsWith("data:"))
+                        .findFirst()
+                        .orElse(null))
+                .get(10, TimeUnit.SECONDS);
+        response.body().close();
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), response.statusCode());
+        assertNotNull(replayed);
+        assertTrue(replayed.contains(secondId));
+        assertFalse(replayed.contains(firstId));
+    }
+
     @Test
     public void shouldPublishApplicationWithCorrectStatus() {
         // Given
@@ -0,0 +1,94 @@
+package com.example.applicationflow.controller;
+
+import com.example.applicationflow.config.IdempotencyFilter;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs with the database store, so records go through the {@code idempotency_keys} table.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(
+        locations = "classpath:application-integrationtest.properties",
+        properties = "applicationflow.idempotency.store=database")
+public class IdempotencyIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate template;
+
+    @Test
+    public void shouldCreateOnceForRetriedCreate() {
+        // Given
+        HttpEntity<ApplicationDto> request = withKey(UUID.randomUUID().toString(),
+                ApplicationDto.builder().name("appName").content("appContent").build());
+
+        // When
+        ResponseEntity<ApplicationDto> first = template.postForEntity(getUrl("/applications"), request, ApplicationDto.class);
+        ResponseEntity<ApplicationDto> retry = template.postForEntity(getUrl("/applications"), request, ApplicationDto.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals(first.getBody().getId(), retry.getBody().getId());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    @Test
+    public void shouldReplayTransitionInsteadOfConflict() {
+        // Given
+        ApplicationDto created = template.postForEntity(getUrl("/applications"),
+                ApplicationDto.builder().name("appName").content("appContent").build(), ApplicationDto.class).getBody();
+        HttpEntity<Void> request = withKey(UUID.randomUUID().toString(), null);
+
+        // When
+        ResponseEntity<ApplicationDto> first = template.postForEntity(getUrl("/verify-application/{id}"), request, ApplicationDto.class, created.getId());
+        ResponseEntity<ApplicationDto> retry = template.postForEntity(getUrl("/verify-application/{id}"), request, ApplicationDto.class, created.getId());
+        ResponseEntity<String> withoutKey = template.postForEntity(getUrl("/verify-application/{id}"), null, String.class, created.getId());
+
+        // Then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals(ApplicationStatus.VERIFIED, retry.getBody().getStatus());
+        assertEquals(first.getHeaders().getETag(), retry.getHeaders().getETag());
+        assertEquals(HttpStatus.CONFLICT, withoutKey.getStatusCode());
+    }
+
+    @Test
+    public void shouldAcceptLongestKeyOnLongPath() {
+        // Given
+        HttpEntity<Void> request = withKey("k".repeat(255), null);
+
+        // When
+        ResponseEntity<String> response = template.postForEntity(getUrl("/verify-application/{id}"), request, String.class, "x".repeat(200));
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private static <T> HttpEntity<T> withKey(String key, T body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        return new HttpEntity<>(body, headers);
+    }
+
+    private String getUrl(String path) {
+        return String.format("http://localhost:%d", port).concat(path);
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.example.applicationflow.controller;
+
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reactive profile on a database of its own, so it does not see applications of the servlet tests.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+@TestPropertySource(
+        locations = "classpath:application-integrationtest.properties",
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:reactive;IGNORECASE=TRUE;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=IGNORECASE=TRUE;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+        })
+public class ReactiveApplicationControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    public void shouldCreateAndTransitionApplication() {
+        // Given
+        ApplicationDto created = create("appName");
+
+        // When
+        ApplicationDto verified = client.post().uri("/verify-application/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody(ApplicationDto.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertEquals(ApplicationStatus.CREATED, created.getStatus());
+        assertEquals(ApplicationStatus.VERIFIED, verified.getStatus());
+        client.get().uri("/applications/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ApplicationDto.class)
+                .value(application -> assertEquals(ApplicationStatus.VERIFIED, application.getStatus()));
+    }
+
+    @Test
+    public void shouldRejectStaleVersionAndInvalidStatus() {
+        // Given
+        ApplicationDto created = create("appName");
+
+        // When
+        // Then
+        client.post().uri("/verify-application/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"5\"")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        client.post().uri("/publish-application/{id}", created.getId())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        client.post().uri("/verify-application/{id}", "unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+        client.post().uri("/verify-application/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"not-a-version\"")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void shouldEditContentAndExportApplications() {
+        // Given
+        ApplicationDto created = create("exported");
+
+        // When
+        client.put().uri("/applications/{id}/content", created.getId())
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("newContent")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ApplicationDto.class)
+                .value(application -> assertEquals("newContent", application.getContent()));
+        List<ApplicationDto> exported = client.get().uri("/applications/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ApplicationDto.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertTrue(exported.stream().anyMatch(application -> application.getId().equals(created.getId())
+                && application.getContent().equals("newContent")));
+    }
+
+    @Test
+    public void shouldPageApplicationsByStatus() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            create("paged" + i);
+        }
+
+        // When
+        // Then
+        client.get().uri("/applications?status=CREATED&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.nextCursor").isNotEmpty();
+    }
+
+    private ApplicationDto create(String name) {
+        return client.post().uri("/applications")
+                .bodyValue(ApplicationDto.builder().name(name).content("appContent").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ApplicationDto.class)
+                .returnResult().getResponseBody();
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.example.applicationflow.controller;
+
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationLease;
+import com.example.applicationflow.model.ApplicationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(
+        locations = "classpath:application-integrationtest.properties")
+public class WorkQueueControllerIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate template;
+
+    @Test
+    public void shouldLeaseDisjointApplicationsToConcurrentWorkers() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            template.postForEntity(getUrl("/applications"), ApplicationDto.builder().name("appName" + i).content("appContent").build(), ApplicationDto.class);
+        }
+
+        // When
+        List<ApplicationLease> first = claim("reviewer-1", 2);
+        List<ApplicationLease> second = claim("reviewer-2", 2);
+
+        // Then
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        Set<String> ids = new HashSet<>();
+        first.forEach(lease -> ids.add(lease.getApplication().getId()));
+        second.forEach(lease -> ids.add(lease.getApplication().getId()));
+        assertEquals(4, ids.size());
+        assertTrue(second.stream().allMatch(lease -> lease.getApplication().getStatus() == ApplicationStatus.CREATED));
+    }
+
+    @Test
+    public void shouldRenewAndReleaseOwnLeaseOnly() {
+        // Given
+        template.postForEntity(getUrl("/applications"), ApplicationDto.builder().name("appName").content("appContent").build(), ApplicationDto.class);
+        String id = claim("reviewer-3", 1).get(0).getApplication().getId();
+
+        // When
+        ResponseEntity<String> renewedByOther = template.postForEntity(getUrl("/work/{id}/renew?worker=reviewer-4"), null, String.class, id);
+        ResponseEntity<String> renewed = template.postForEntity(getUrl("/work/{id}/renew?worker=reviewer-3"), null, String.class, id);
+        ResponseEntity<String> released = template.postForEntity(getUrl("/work/{id}/release?worker=reviewer-3"), null, String.class, id);
+        ResponseEntity<String> releasedAgain = template.postForEntity(getUrl("/work/{id}/release?worker=reviewer-3"), null, String.class, id);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, renewedByOther.getStatusCode());
+        assertEquals(HttpStatus.OK, renewed.getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, released.getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, releasedAgain.getStatusCode());
+    }
+
+    private List<ApplicationLease> claim(String worker, int limit) {
+        ResponseEntity<ApplicationLease[]> response = template.postForEntity(getUrl("/work/claim?status=CREATED&limit={limit}&worker={worker}"),
+                null, ApplicationLease[].class, limit, worker);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return Arrays.asList(response.getBody());
+    }
+
+    private String getUrl(String path) {
+        return String.format("http://localhost:%d", port).concat(path);
+    }
+
+}
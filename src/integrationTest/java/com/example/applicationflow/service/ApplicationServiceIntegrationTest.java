@@ -1,16 +1,26 @@
 package com.example.applicationflow.service;
 
+import com.example.applicationflow.config.CacheConfig;
 import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationChangeEvent;
 import com.example.applicationflow.model.ApplicationDto;
 import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.Comparator;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest()
@@ -21,6 +31,12 @@ public class ApplicationServiceIntegrationTest {
 
     @Autowired
     private ApplicationService applicationService;
+    @Autowired
+    private ApplicationChangeEventRepository eventRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     private final String testApp1Name = "appName1";
     private final String testApp1Content = "appContent1";
@@ -55,9 +71,9 @@ public class ApplicationServiceIntegrationTest {
     @Test
     public void shouldVerifyApplication() throws InvalidStatusException {
         // Given
-        ApplicationDto applicationToBeCreated = ApplicationDto.builder().id("8").name(testApp1Name).content(testApp1Content).status(ApplicationStatus.CREATED).build();
+        ApplicationDto applicationToBeCreated = applicationService.create(ApplicationDto.builder().name(testApp1Name).content(testApp1Content).build());
         //When
-        ApplicationDto result = applicationService.verify(applicationToBeCreated);
+        ApplicationDto result = applicationService.transition(applicationToBeCreated.getId(), ApplicationAction.VERIFY, null);
         // Then
         assertNotNull(result);
         assertEquals(applicationToBeCreated.getName(), result.getName());
@@ -65,6 +81,44 @@ public class ApplicationServiceIntegrationTest {
         assertEquals(ApplicationStatus.VERIFIED, result.getStatus());
     }
 
+    @Test
+    public void shouldServeRepeatedReadsFromCacheUntilTransition() throws InvalidStatusException {
+        // Given
+        ApplicationDto created = applicationService.create(ApplicationDto.builder().name(testApp1Name).content(testApp1Content).build());
+        Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        applicationService.findApplicationById(created.getId());
+        double hitsBefore = meterRegistry.get("cache.gets").tag("cache", CacheConfig.APPLICATIONS).tag("result", "hit").functionCounter().count();
+        // When
+        ApplicationDto cached = applicationService.findApplicationById(created.getId());
+        applicationService.transition(created.getId(), ApplicationAction.VERIFY, null);
+        // Then
+        assertEquals(ApplicationStatus.CREATED, cached.getStatus());
+        assertEquals(hitsBefore + 1, meterRegistry.get("cache.gets").tag("cache", CacheConfig.APPLICATIONS).tag("result", "hit").functionCounter().count());
+        assertNull(cache.get(created.getId()));
+        assertEquals(ApplicationStatus.VERIFIED, applicationService.findApplicationById(created.getId()).getStatus());
+    }
+
+    @Test
+    public void shouldRebuildEditedVersionFromEvents() throws InvalidStatusException {
+        // Given
+        ApplicationDto created = applicationService.create(ApplicationDto.builder().name(testApp1Name).content(testApp1Content).build());
+        applicationService.edit(created.getId(), "editedContent");
+        applicationService.transition(created.getId(), ApplicationAction.VERIFY, null);
+        List<ApplicationChangeEvent> events = eventRepository.findAll().stream()
+                .filter(event -> event.getApplicationId().equals(created.getId()))
+                .sorted(Comparator.comparing(ApplicationChangeEvent::getTimestamp))
+                .toList();
+        // When
+        ApplicationDto original = applicationService.findApplicationVersion(created.getId(), events.get(0).getEventId().toString());
+        ApplicationDto verified = applicationService.findApplicationVersion(created.getId(), events.get(2).getEventId().toString());
+        // Then
+        assertEquals(testApp1Content, original.getContent());
+        assertEquals(ApplicationStatus.CREATED, original.getStatus());
+        assertEquals("editedContent", verified.getContent());
+        assertEquals(ApplicationStatus.VERIFIED, verified.getStatus());
+        assertEquals(events.get(1).getContentHash(), events.get(2).getContentHash());
+    }
+
     @Test
     @Sql(scripts = {"/CreateApplication.sql"})
     public void shouldFailToVerifyApplicationWithWrongStatus() {
@@ -72,7 +126,12 @@ public class ApplicationServiceIntegrationTest {
         ApplicationDto createdApplication = applicationService.findApplicationById("3");
         // Then
         assertThrows(InvalidStatusException.class, () ->
-                applicationService.verify(createdApplication));
+                applicationService.transition(createdApplication.getId(), ApplicationAction.VERIFY, null));
+    }
+
+    @Test
+    public void shouldNotVerifyUnknownApplication() throws InvalidStatusException {
+        assertNull(applicationService.transition("unknownApplicationId", ApplicationAction.VERIFY, null));
     }
 
     @Test
@@ -81,7 +140,7 @@ public class ApplicationServiceIntegrationTest {
         // Given
         ApplicationDto createdApplication = applicationService.findApplicationById("2");
         //When
-        ApplicationDto result = applicationService.reject(createdApplication, cause);
+        ApplicationDto result = applicationService.transition(createdApplication.getId(), ApplicationAction.REJECT, cause);
         // Then
         assertNotNull(result);
         assertEquals(createdApplication.getName(), result.getName());
@@ -97,7 +156,7 @@ public class ApplicationServiceIntegrationTest {
         // When
         // Then
         assertThrows(IllegalArgumentException.class, () ->
-                applicationService.reject(createdApplication, ""));
+                applicationService.transition(createdApplication.getId(), ApplicationAction.REJECT, ""));
     }
 
     @Test
@@ -121,7 +180,7 @@ public class ApplicationServiceIntegrationTest {
     public void shouldDeleteApplicationSetsDeletedStatus() throws InvalidStatusException {
         // Given
         //When
-        ApplicationDto result = applicationService.delete("1", cause);
+        ApplicationDto result = applicationService.transition("1", ApplicationAction.DELETE, cause);
         // Then
         assertNotNull(result);
         assertEquals(testApp1Name, result.getName());
@@ -133,7 +192,7 @@ public class ApplicationServiceIntegrationTest {
     @Sql(scripts = {"/CreateApplication.sql"})
     public void shouldDeleteThrowsInvalidStatusException() {
         assertThrows(IllegalArgumentException.class, () ->
-                applicationService.delete("2", ""));
+                applicationService.transition("2", ApplicationAction.DELETE, ""));
     }
 
     @Test
@@ -144,15 +203,17 @@ public class ApplicationServiceIntegrationTest {
         // When
         // Then
         assertThrows(IllegalArgumentException.class, () ->
-                applicationService.reject(createdApplication, ""));
+                applicationService.transition(createdApplication.getId(), ApplicationAction.REJECT, ""));
     }
 
     @Test
     void shouldAcceptSetsAcceptedStatusForApplicationInVerifiedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto applicationToBeCreated = ApplicationDto.builder().id("9").name(testApp1Name).content(testApp1Content).status(ApplicationStatus.VERIFIED).build();
+        ApplicationDto applicationToBeCreated = applicationService.transition(
+                applicationService.create(ApplicationDto.builder().name(testApp1Name).content(testApp1Content).build()).getId(),
+                ApplicationAction.VERIFY, null);
         //When
-        ApplicationDto result = applicationService.accept(applicationToBeCreated);
+        ApplicationDto result = applicationService.transition(applicationToBeCreated.getId(), ApplicationAction.ACCEPT, null);
         // Then
         assertNotNull(result);
         assertEquals(applicationToBeCreated.getName(), result.getName());
@@ -168,7 +229,7 @@ public class ApplicationServiceIntegrationTest {
         // When
         // Then
         assertThrows(InvalidStatusException.class, () ->
-                applicationService.accept(createdApplication));
+                applicationService.transition(createdApplication.getId(), ApplicationAction.ACCEPT, null));
     }
 
     @Test
@@ -177,7 +238,7 @@ public class ApplicationServiceIntegrationTest {
         // Given
         //When
         ApplicationDto createdApplication = applicationService.findApplicationById("3");
-        ApplicationDto result = applicationService.publish(createdApplication);
+        ApplicationDto result = applicationService.transition(createdApplication.getId(), ApplicationAction.PUBLISH, null);
         // Then
         assertNotNull(result);
         assertEquals(createdApplication.getName(), result.getName());
@@ -193,7 +254,7 @@ public class ApplicationServiceIntegrationTest {
         // When
         // Then
         assertThrows(InvalidStatusException.class, () ->
-                applicationService.publish(createdApplication));
+                applicationService.transition(createdApplication.getId(), ApplicationAction.PUBLISH, null));
     }
 
 
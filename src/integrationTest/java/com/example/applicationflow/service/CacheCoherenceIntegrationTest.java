@@ -0,0 +1,75 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.ApplicationFlowApplication;
+import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationStatus;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application instances in one JVM, sharing one H2 database in server mode.
+ */
+public class CacheCoherenceIntegrationTest {
+
+    private static Server server;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:coherence;DB_CLOSE_DELAY=-1";
+        nodeA = startNode(url);
+        nodeB = startNode(url);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+        server.stop();
+    }
+
+    @Test
+    public void shouldEvictApplicationChangedOnOtherNode() throws InvalidStatusException, InterruptedException {
+        // Given
+        ApplicationService serviceA = nodeA.getBean(ApplicationService.class);
+        ApplicationService serviceB = nodeB.getBean(ApplicationService.class);
+        ApplicationDto created = serviceA.create(ApplicationDto.builder().name("appName1").content("appContent1").build());
+        assertEquals(ApplicationStatus.CREATED, serviceA.findApplicationById(created.getId()).getStatus());
+
+        // When
+        serviceB.transition(created.getId(), ApplicationAction.VERIFY, null);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (serviceA.findApplicationById(created.getId()).getStatus() != ApplicationStatus.VERIFIED) {
+            assertTrue(System.currentTimeMillis() < deadline, "node A still serves the cached status");
+            Thread.sleep(50);
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String url) {
+        return new SpringApplicationBuilder(ApplicationFlowApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "applicationflow.cache.coherence.enabled=true",
+                        "applicationflow.cache.coherence.poll-interval=50")
+                .run();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "applicationflow.outbox.enabled=true",
+        "applicationflow.outbox.workers=2",
+        "applicationflow.outbox.poll-interval=100ms"})
+@TestPropertySource(
+        locations = "classpath:application-integrationtest.properties")
+public class OutboxRelayIntegrationTest {
+
+    private static final Path OUTBOX_FILE = createOutboxFile();
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @DynamicPropertySource
+    static void outboxFile(DynamicPropertyRegistry registry) {
+        registry.add("applicationflow.outbox.file", OUTBOX_FILE::toString);
+    }
+
+    @Test
+    public void shouldRelayCommittedEventsToSink() throws Exception {
+        // Given
+        ApplicationDto created = applicationService.create(ApplicationDto.builder().name("appName1").content("appContent1").build());
+
+        // When
+        List<String> lines = List.of();
+        for (int attempt = 0; attempt < 100 && lines.stream().noneMatch(line -> line.contains(created.getId())); attempt++) {
+            Thread.sleep(100);
+            lines = Files.readAllLines(OUTBOX_FILE);
+        }
+
+        // Then
+        List<String> delivered = lines.stream().filter(line -> line.contains(created.getId())).toList();
+        assertEquals(1, delivered.size());
+        assertTrue(delivered.get(0).startsWith("{\"offset\":"));
+        assertTrue(delivered.get(0).contains("\"status\":\"CREATED\""));
+    }
+
+    private static Path createOutboxFile() {
+        try {
+            Path file = Files.createTempFile("outbox", ".ndjson");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
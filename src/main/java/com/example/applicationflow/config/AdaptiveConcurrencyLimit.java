@@ -0,0 +1,130 @@
+package com.example.applicationflow.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency, AIMD style with a gradient signal. Each completed request is a
+ * latency sample feeding two moving averages, a short one for current latency and a long one as baseline; averaging
+ * keeps a steady mix of fast and slow requests (cache hits next to database queries) from looking like congestion.
+ * While the limit is in use and the short average stays within {@code latencyTolerance} times the baseline, the
+ * limit grows by about one per limit's worth of requests; when the short average rises above that, or a request
+ * fails, it is cut by {@code backoffRatio}. Latency seen with the limit mostly unused is not caused by concurrency
+ * and never cuts it. Like TCP congestion control the limit is cut at most once per round trip: only requests started
+ * after the last cut can cut it again, so one burst of slow responses does not collapse it to the minimum.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // weight of a new sample in the short and long averages, after the first samples which are averaged evenly
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    // guarded by this
+    private long samples;
+    private double shortNanos;
+    private double longNanos;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double backoffRatio,
+                             LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return a permit to release when the request completes, or {@code null} if the limit is reached
+     */
+    public Permit tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(nanoClock.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long startNanos, long latencyNanos, int inFlightAtStart, boolean dropped) {
+        if (!dropped) {
+            samples++;
+            shortNanos += (latencyNanos - shortNanos) * Math.max(SHORT_SMOOTHING, 1.0 / samples);
+            longNanos += (latencyNanos - longNanos) * Math.max(LONG_SMOOTHING, 1.0 / samples);
+        }
+        // an idle service says nothing about how much load it takes
+        boolean inUse = inFlightAtStart * 2 >= limit;
+        boolean congested = inUse && shortNanos > longNanos * latencyTolerance;
+        if (dropped || congested) {
+            if (startNanos > lastDecreaseNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nanoClock.getAsLong();
+            }
+        } else if (inUse) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * @param dropped whether the request failed in a way that suggests overload
+         */
+        public void release(boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            onSample(startNanos, nanoClock.getAsLong() - startNanos, inFlightAtStart, dropped);
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * Releases without a latency sample, for requests whose duration says nothing about load.
+         */
+        public void releaseWithoutSample() {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+        }
+
+    }
+
+}
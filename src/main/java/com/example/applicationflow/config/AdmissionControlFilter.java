@@ -0,0 +1,133 @@
+package com.example.applicationflow.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Admission control: reads ({@code GET}, {@code HEAD}, {@code OPTIONS}) and writes each get an
+ * {@link AdaptiveConcurrencyLimit}, so a burst of writes queueing for JDBC connections cannot take the threads reads
+ * need. A request over its class's limit is answered right away with 503 and {@code Retry-After} instead of
+ * waiting for a thread and a connection. Actuator endpoints are never shed.
+ * <p>
+ * Streamed responses hand over to an async thread; they hold their permit only while on the request thread and
+ * are not used as latency samples.
+ */
+@Component
+@ConditionalOnProperty(name = "applicationflow.admission.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+// after the observation filter, so shed requests still show up in http.server.requests
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+
+    public AdmissionControlFilter(@Value("${applicationflow.admission.read.initial-limit:100}") int readInitialLimit,
+                                  @Value("${applicationflow.admission.read.min-limit:10}") int readMinLimit,
+                                  @Value("${applicationflow.admission.read.max-limit:400}") int readMaxLimit,
+                                  @Value("${applicationflow.admission.write.initial-limit:20}") int writeInitialLimit,
+                                  @Value("${applicationflow.admission.write.min-limit:2}") int writeMinLimit,
+                                  @Value("${applicationflow.admission.write.max-limit:100}") int writeMaxLimit,
+                                  @Value("${applicationflow.admission.latency-tolerance:2.0}") double latencyTolerance,
+                                  @Value("${applicationflow.admission.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${applicationflow.admission.retry-after:1s}") Duration retryAfter,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.readLimit = new AdaptiveConcurrencyLimit(readInitialLimit, readMinLimit, readMaxLimit, latencyTolerance, backoffRatio);
+        this.writeLimit = new AdaptiveConcurrencyLimit(writeInitialLimit, writeMinLimit, writeMaxLimit, latencyTolerance, backoffRatio);
+        // Retry-After takes whole seconds
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+        this.objectMapper = objectMapper;
+        this.rejectedReads = rejectedCounter(READ, meterRegistry);
+        this.rejectedWrites = rejectedCounter(WRITE, meterRegistry);
+        registerGauges(READ, readLimit, meterRegistry);
+        registerGauges(WRITE, writeLimit, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = isRead(request);
+        AdaptiveConcurrencyLimit.Permit permit = (read ? readLimit : writeLimit).tryAcquire();
+        if (permit == null) {
+            (read ? rejectedReads : rejectedWrites).increment();
+            reject(response, read ? READ : WRITE);
+            return;
+        }
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (request.isAsyncStarted()) {
+                permit.releaseWithoutSample();
+            } else {
+                permit.release(dropped);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, String requestClass) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many concurrent " + requestClass + " requests, retry later");
+        problem.setTitle("Service overloaded");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static Counter rejectedCounter(String requestClass, MeterRegistry meterRegistry) {
+        return Counter.builder("applicationflow.admission.rejected")
+                .tag("class", requestClass)
+                .register(meterRegistry);
+    }
+
+    private static void registerGauges(String requestClass, AdaptiveConcurrencyLimit limit, MeterRegistry meterRegistry) {
+        Gauge.builder("applicationflow.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("class", requestClass)
+                .register(meterRegistry);
+        Gauge.builder("applicationflow.admission.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("class", requestClass)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.applicationflow.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Caching runs outside the transaction advice, so a cache hit never opens a transaction or borrows a connection.
+ * Caches are transaction aware: writes made inside a transaction reach the cache only after it commits. A load that
+ * races such an eviction is not put back, see {@link LoadGuardedCache}.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String APPLICATIONS = "applications";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${applicationflow.cache.applications.spec:maximumSize=10000,expireAfterWrite=5m}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new LoadGuardedCache(name, cache, isAllowNullValues());
+            }
+        };
+        // stats feed the cache.gets / cache.evictions metrics
+        cacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(APPLICATIONS));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+}
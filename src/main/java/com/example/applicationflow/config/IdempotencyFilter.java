@@ -0,0 +1,244 @@
+package com.example.applicationflow.config;
+
+import com.example.applicationflow.model.IdempotencyRecord;
+import com.example.applicationflow.service.ApplicationContentStore;
+import com.example.applicationflow.service.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code Idempotency-Key} support for creating applications and changing their status. The first request with a
+ * key is processed and, if successful, its response stored in the {@link IdempotencyStore}; retries with the same
+ * key, method, path and body get the stored response replayed, marked with {@code Idempotent-Replayed}, without
+ * reaching the service. A retry arriving while the first request is still processed gets 409, a key reused for a
+ * different body 422. Failed requests are not stored, they wrote nothing and are processed again when retried.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "applicationflow.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+// after admission control, so shed requests never reserve a key
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> PATHS = List.of("/applications", "/*-application/*");
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY) == null || !HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String path = pathOf(request);
+        return PATHS.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            sendProblem(response, HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key",
+                    "Idempotency-Key must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = ApplicationContentStore.hashOf(new String(body, StandardCharsets.UTF_8));
+        // hashed, as the path is unbounded and the stored key is not
+        String scopedKey = ApplicationContentStore.hashOf(request.getMethod() + " " + pathOf(request) + " " + key);
+
+        String owner = UUID.randomUUID().toString();
+        IdempotencyRecord existing = idempotencyStore.reserve(scopedKey, fingerprint, owner);
+        if (existing != null) {
+            replay(existing, fingerprint, response);
+            return;
+        }
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            if (cachingResponse.getStatus() / 100 == 2 && !request.isAsyncStarted()) {
+                // the change is made: from here on the key must not be released, or a retry would make it again
+                stored = true;
+                complete(IdempotencyRecord.builder()
+                        .idempotencyKey(scopedKey)
+                        .fingerprint(fingerprint)
+                        .owner(owner)
+                        .status(cachingResponse.getStatus())
+                        .contentType(cachingResponse.getContentType())
+                        .etag(cachingResponse.getHeader(HttpHeaders.ETAG))
+                        .body(cachingResponse.getContentAsByteArray())
+                        .build());
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.release(scopedKey, owner);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * A failure to store the outcome leaves the key reserved: retries get 409 until the reservation's lease expires,
+     * rather than repeating the change, and the successful response still reaches the client.
+     */
+    private void complete(IdempotencyRecord record) {
+        try {
+            idempotencyStore.complete(record);
+        } catch (RuntimeException e) {
+            log.warn("Could not store the response for an Idempotency-Key, keeping it reserved", e);
+        }
+    }
+
+    private void replay(IdempotencyRecord record, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            sendProblem(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key reused",
+                    "The Idempotency-Key was already used for a different request");
+            return;
+        }
+        if (!record.isCompleted()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            sendProblem(response, HttpStatus.CONFLICT, "Request in progress",
+                    "A request with this Idempotency-Key is still being processed");
+            return;
+        }
+        response.setStatus(record.getStatus());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, record.getEtag());
+        }
+        if (record.getBody() != null) {
+            response.setContentLength(record.getBody().length);
+            response.getOutputStream().write(record.getBody());
+        }
+    }
+
+    private void sendProblem(HttpServletResponse response, HttpStatus status, String title, String detail) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setTitle(title);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * The body is read up front to fingerprint it, and served again from memory to the rest of the chain.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is in memory, so it is all available at once and the listener is called right away.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8.name() : encoding));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+    }
+
+}
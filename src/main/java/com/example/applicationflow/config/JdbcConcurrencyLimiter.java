@@ -0,0 +1,119 @@
+package com.example.applicationflow.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Caps the number of threads holding a JDBC connection with a fair semaphore, one permit per connection, released
+ * when the connection is closed. Sized to the connection pool, it makes excess virtual threads park on the
+ * semaphore, which unmounts them, instead of piling up in the pool's borrow path and the driver, where
+ * {@code synchronized} blocks pin their carrier threads. A thread that cannot get a permit within the timeout fails
+ * like a pool timeout.
+ * <p>
+ * Only threads matching the given filter are limited; the others go to the pool directly, so background jobs on
+ * their own platform threads never queue behind requests for a permit.
+ */
+public class JdbcConcurrencyLimiter extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+    private final Predicate<Thread> limitedThreads;
+
+    public JdbcConcurrencyLimiter(DataSource targetDataSource, int maxConcurrency, Duration acquireTimeout) {
+        this(targetDataSource, maxConcurrency, acquireTimeout, thread -> true);
+    }
+
+    public JdbcConcurrencyLimiter(DataSource targetDataSource, int maxConcurrency, Duration acquireTimeout,
+                                  Predicate<Thread> limitedThreads) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+        this.limitedThreads = limitedThreads;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!limitedThreads.test(Thread.currentThread())) {
+            return super.getConnection();
+        }
+        acquire();
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!limitedThreads.test(Thread.currentThread())) {
+            return super.getConnection(username, password);
+        }
+        acquire();
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No JDBC permit available within " + acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC permit", e);
+        }
+    }
+
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                try {
+                    return invoke(connection, method, args);
+                } finally {
+                    permits.release();
+                }
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.example.applicationflow.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache that drops a load racing an eviction. A load that read the row before a concurrent change
+ * committed would otherwise put the old version back after the change evicted it, where it stays until the TTL.
+ * {@link #get(Object, Callable)}, used by {@code @Cacheable(sync = true)}, records the eviction generation of the key
+ * before loading and undoes its put if an eviction happened since. Generations are kept per stripe, so an eviction of
+ * another key in the same stripe only costs a skipped put.
+ * <p>
+ * Unlike Caffeine's own loading, concurrent misses on one key each load; a {@code null} result is returned without
+ * being cached.
+ */
+class LoadGuardedCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    LoadGuardedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    /**
+     * The generation is checked after the put, as an eviction bumps it before removing the entry: either the
+     * eviction removes this put, or this check sees the eviction.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long generation = generations.get(stripe(key));
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            super.put(key, value);
+            if (generations.get(stripe(key)) != generation) {
+                super.evict(key);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generations.incrementAndGet(stripe(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        bumpAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        bumpAll();
+        return super.invalidate();
+    }
+
+    private void bumpAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+}
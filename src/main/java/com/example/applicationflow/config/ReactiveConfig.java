@@ -0,0 +1,26 @@
+package com.example.applicationflow.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Reactive profile: the R2DBC transaction manager is auto-configured next to JPA's. Boot only creates the JPA one
+ * while no other transaction manager exists, so it is declared here, and made primary so {@code @Transactional}
+ * services keep resolving to it. Reactive services use the auto-configured {@code TransactionalOperator}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.example.applicationflow.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in mode serving requests on virtual threads: Tomcat hands every request, and Spring MVC every async response
+ * (exports, event streams), to a new virtual thread instead of a bounded platform-thread pool. The JDBC
+ * {@link DataSource} is wrapped in a {@link JdbcConcurrencyLimiter} sized to the connection pool, so thousands of
+ * concurrent requests queue on a semaphore rather than on the pool. Only virtual threads are limited: the scheduled
+ * jobs, the outbox relay and the journal writer run on platform threads and borrow from the pool directly, so they
+ * are not starved by requests. As they share the pool, {@code jdbc-permits} below the pool size keeps connections
+ * free for them.
+ * <p>
+ * The build targets Java 17, so the executor is looked up reflectively and the mode needs a Java 21 runtime; it fails
+ * at startup on older ones.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "applicationflow.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Method IS_VIRTUAL = isVirtualMethod();
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("applicationflow.threads.virtual.enabled requires Java 21 or later, running on "
+                    + Runtime.version(), e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    /**
+     * Static, so the post processor is registered before the data source is created.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiterPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof JdbcConcurrencyLimiter) {
+                    return bean;
+                }
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int permits = environment.getProperty("applicationflow.threads.virtual.jdbc-permits", Integer.class, poolSize);
+                Duration timeout = environment.getProperty("applicationflow.threads.virtual.jdbc-acquire-timeout", Duration.class, Duration.ofSeconds(30));
+                log.info("Serving requests on virtual threads, JDBC concurrency limited to {}", permits);
+                return new JdbcConcurrencyLimiter(dataSource, permits, timeout, VirtualThreadConfig::isVirtual);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcConcurrencyLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof JdbcConcurrencyLimiter limiter) {
+                Gauge.builder("applicationflow.jdbc.permits.available", limiter, JdbcConcurrencyLimiter::getAvailablePermits)
+                        .description("JDBC permits left for virtual threads")
+                        .register(registry);
+            }
+        };
+    }
+
+    static boolean isVirtual(Thread thread) {
+        try {
+            return IS_VIRTUAL != null && (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static Method isVirtualMethod() {
+        try {
+            return Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            // before Java 21 there are no virtual threads, and the executor bean fails the startup anyway
+            return null;
+        }
+    }
+
+}
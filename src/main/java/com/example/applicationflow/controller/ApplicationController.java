@@ -1,27 +1,131 @@
 package com.example.applicationflow.controller;
 
+import com.example.applicationflow.service.ApplicationChangeFeed;
 import com.example.applicationflow.service.ApplicationService;
+import com.example.applicationflow.service.ApplicationStatusCounters;
+import com.example.applicationflow.service.BulkTransitionService;
+import com.example.applicationflow.exception.InvalidRequestException;
 import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.model.ApplicationAction;
 import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationHistoryEntry;
+import com.example.applicationflow.model.ApplicationPage;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationTransitionRequest;
+import com.example.applicationflow.model.ApplicationTransitionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ApplicationController {
 
-    private final ApplicationService applicationService;
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
 
-    public ApplicationController(ApplicationService applicationService) {
+    private final ApplicationService applicationService;
+    private final BulkTransitionService bulkTransitionService;
+    private final ApplicationStatusCounters statusCounters;
+    private final ApplicationChangeFeed changeFeed;
+    private final ObjectWriter applicationWriter;
+
+    public ApplicationController(ApplicationService applicationService, BulkTransitionService bulkTransitionService,
+                                 ApplicationStatusCounters statusCounters, ApplicationChangeFeed changeFeed,
+                                 ObjectMapper objectMapper) {
         this.applicationService = applicationService;
+        this.bulkTransitionService = bulkTransitionService;
+        this.statusCounters = statusCounters;
+        this.changeFeed = changeFeed;
+        this.applicationWriter = objectMapper.writerFor(ApplicationDto.class);
     }
 
     @GetMapping("/applications")
-    public List<ApplicationDto> showApplicationList() {
-        return applicationService.findAllApplications();
+    public ApplicationPage<?> showApplicationList(@RequestParam(value = "status", required = false) ApplicationStatus status,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", required = false) Integer size,
+                                                 @RequestParam(value = "view", defaultValue = VIEW_FULL) String view) {
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return applicationService.findApplicationSummaries(status, cursor, size);
+        }
+        if (!VIEW_FULL.equalsIgnoreCase(view)) {
+            throw new InvalidRequestException("Unknown view: " + view);
+        }
+        return applicationService.findApplications(status, cursor, size);
+    }
+
+    @GetMapping(value = "/applications/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportApplications() {
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            applicationService.exportApplications(applicationDto -> {
+                try {
+                    outputStream.write(applicationWriter.writeValueAsBytes(applicationDto));
+                    outputStream.write('\n');
+                    if (++written[0] % EXPORT_FLUSH_INTERVAL == 1) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().body(body);
+    }
+
+    /**
+     * Change events as {@code text/event-stream}; a reconnecting client sends {@code Last-Event-ID} to receive the
+     * events it missed, see {@link ApplicationChangeFeed}.
+     */
+    @GetMapping(value = "/applications/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Actions allowed in each status. The table only changes with a deployment, so clients may cache it.
+     */
+    @GetMapping("/applications/transitions")
+    public ResponseEntity<Map<ApplicationStatus, Set<ApplicationAction>>> showTransitionTable() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                .body(ApplicationAction.transitionTable());
+    }
+
+    /**
+     * Number of applications per status, served from maintained counters; changes made on other instances show up
+     * within {@code applicationflow.stats.flush-interval}.
+     */
+    @GetMapping("/applications/stats")
+    public Map<ApplicationStatus, Long> showStatusCounts() {
+        return statusCounters.getCounts();
+    }
+
+    /**
+     * Applies many transitions at once; every item gets its own outcome instead of failing the request.
+     */
+    @PostMapping("/applications/transitions")
+    public List<ApplicationTransitionResult> transitionApplications(@RequestBody List<ApplicationTransitionRequest> requests) {
+        return bulkTransitionService.transitionAll(requests);
     }
 
     @PostMapping("/applications")
@@ -29,61 +133,94 @@ public class ApplicationController {
         return applicationService.create(applicationDto);
     }
 
+    /**
+     * The version is returned as ETag; a matching {@code If-None-Match} is answered with 304.
+     */
     @GetMapping("/applications/{id}")
     public ResponseEntity<ApplicationDto> getApplication(@PathVariable("id") String id) {
-        ApplicationDto applicationDto = applicationService.findApplicationById(id);
-        if (applicationDto == null)
-            return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(applicationDto);
+        return toVersionedResponse(applicationService.findApplicationById(id));
+    }
+
+    @GetMapping("/applications/{id}/versions/{eventId}")
+    public ResponseEntity<ApplicationDto> getApplicationVersion(@PathVariable("id") String id,
+                                                                @PathVariable("eventId") String eventId) {
+        return toResponse(applicationService.findApplicationVersion(id, eventId));
+    }
+
+    @GetMapping("/applications/{id}/history")
+    public ResponseEntity<ApplicationPage<ApplicationHistoryEntry>> showApplicationHistory(
+            @PathVariable("id") String id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "includeContent", defaultValue = "false") boolean includeContent) {
+        return toResponse(applicationService.findApplicationHistory(id, cursor, size, includeContent));
     }
 
     @PutMapping("/applications/{id}/content")
-    public ResponseEntity<ApplicationDto> editApplicationContent(@PathVariable("id") String id, @Valid @RequestBody String content) throws InvalidStatusException{
-        ApplicationDto applicationDto = applicationService.findApplicationById(id);
-        if (applicationDto == null)
-            return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(applicationService.edit(applicationDto, content));
+    public ResponseEntity<ApplicationDto> editApplicationContent(@PathVariable("id") String id, @Valid @RequestBody String content,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws InvalidStatusException{
+        return toVersionedResponse(applicationService.edit(id, content, parseIfMatch(ifMatch)));
     }
 
     @PostMapping("/verify-application/{id}")
-    public ResponseEntity<ApplicationDto> verifyApplication(@PathVariable("id") String id) throws InvalidStatusException {
-        ApplicationDto applicationDto = applicationService.findApplicationById(id);
-        if (applicationDto == null)
-            return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(applicationService.verify(applicationDto));
+    public ResponseEntity<ApplicationDto> verifyApplication(@PathVariable("id") String id,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws InvalidStatusException {
+        return toVersionedResponse(applicationService.transition(id, ApplicationAction.VERIFY, null, parseIfMatch(ifMatch)));
     }
 
     @PostMapping("/reject-application/{id}")
     public ResponseEntity<ApplicationDto> rejectApplication(@PathVariable("id") String id,
-                                                            @Valid @RequestBody String cause) throws InvalidStatusException {
-        ApplicationDto applicationDto = applicationService.findApplicationById(id);
-        if (applicationDto == null)
-            return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(applicationService.reject(applicationDto, cause));
+                                                            @Valid @RequestBody String cause,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws InvalidStatusException {
+        return toVersionedResponse(applicationService.transition(id, ApplicationAction.REJECT, cause, parseIfMatch(ifMatch)));
     }
 
     @PostMapping("/accept-application/{id}")
-    public ResponseEntity<ApplicationDto> acceptApplication(@PathVariable("id") String id) throws InvalidStatusException {
-        ApplicationDto applicationDto = applicationService.findApplicationById(id);
-        if (applicationDto == null)
-            return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(applicationService.accept(applicationDto));
+    public ResponseEntity<ApplicationDto> acceptApplication(@PathVariable("id") String id,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws InvalidStatusException {
+        return toVersionedResponse(applicationService.transition(id, ApplicationAction.ACCEPT, null, parseIfMatch(ifMatch)));
     }
 
     @PostMapping("/delete-application/{id}")
-    public ResponseEntity<ApplicationDto> deleteApplication(@PathVariable("id") String id, @Valid @RequestBody String cause) throws InvalidStatusException {
-        ApplicationDto applicationDto = applicationService.findApplicationById(id);
-        if (applicationDto == null)
-            return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(applicationService.delete(applicationDto.getId(), cause));
+    public ResponseEntity<ApplicationDto> deleteApplication(@PathVariable("id") String id, @Valid @RequestBody String cause,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws InvalidStatusException {
+        return toVersionedResponse(applicationService.transition(id, ApplicationAction.DELETE, cause, parseIfMatch(ifMatch)));
     }
 
     @PostMapping("/publish-application/{id}")
-    public ResponseEntity<ApplicationDto> publishApplication(@PathVariable("id") String id) throws InvalidStatusException {
-        ApplicationDto applicationDto = applicationService.findApplicationById(id);
+    public ResponseEntity<ApplicationDto> publishApplication(@PathVariable("id") String id,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws InvalidStatusException {
+        return toVersionedResponse(applicationService.transition(id, ApplicationAction.PUBLISH, null, parseIfMatch(ifMatch)));
+    }
+
+    private static ResponseEntity<ApplicationDto> toVersionedResponse(ApplicationDto applicationDto) {
         if (applicationDto == null)
             return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(applicationService.publish(applicationDto));
+        return ResponseEntity.ok().eTag(String.valueOf(applicationDto.getVersion())).body(applicationDto);
+    }
+
+    /**
+     * @return the version named by a single-entity {@code If-Match} header, {@code null} for none or {@code *}
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid If-Match: " + ifMatch);
+        }
+    }
+
+    private static <T> ResponseEntity<T> toResponse(T body) {
+        if (body == null)
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(body);
     }
 
 }
@@ -0,0 +1,61 @@
+package com.example.applicationflow.controller;
+
+import com.example.applicationflow.exception.ApplicationLeaseLostException;
+import com.example.applicationflow.exception.ApplicationVersionMismatchException;
+import com.example.applicationflow.exception.InvalidRequestException;
+import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.model.ApplicationAction;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ApplicationExceptionHandler {
+
+    @ExceptionHandler(InvalidStatusException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidStatus(InvalidStatusException exception) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, exception.getMessage());
+        problem.setTitle("Invalid application status");
+        problem.setProperty("applicationStatus", exception.getApplicationStatus());
+        problem.setProperty("action", exception.getAction());
+        problem.setProperty("allowedActions", ApplicationAction.transitionTable().get(exception.getApplicationStatus()));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+    @ExceptionHandler(ApplicationVersionMismatchException.class)
+    public ResponseEntity<ProblemDetail> handleVersionMismatch(ApplicationVersionMismatchException exception) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, exception.getMessage());
+        problem.setTitle("Application version changed");
+        problem.setProperty("expectedVersion", exception.getExpectedVersion());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(problem);
+    }
+
+    @ExceptionHandler(ApplicationLeaseLostException.class)
+    public ResponseEntity<ProblemDetail> handleLeaseLost(ApplicationLeaseLostException exception) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, exception.getMessage());
+        problem.setTitle("Lease lost");
+        problem.setProperty("worker", exception.getOwner());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidRequest(InvalidRequestException exception) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, exception.getMessage());
+        problem.setTitle("Invalid request");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problem);
+    }
+
+    /**
+     * Reached only once the server-side retries are used up.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ProblemDetail> handleConcurrencyFailure(ConcurrencyFailureException exception) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Application is being changed concurrently, retry later");
+        problem.setTitle("Concurrent modification");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.applicationflow.controller;
+
+import com.example.applicationflow.mapper.ApplicationCsvReader;
+import com.example.applicationflow.mapper.ApplicationJsonReader;
+import com.example.applicationflow.mapper.ApplicationRecordReader;
+import com.example.applicationflow.model.ApplicationImportReport;
+import com.example.applicationflow.service.ApplicationImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk onboarding. The request body is read as a stream, so files of millions of applications never have to fit
+ * in memory.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ApplicationImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ApplicationImportService importService;
+    private final ObjectMapper objectMapper;
+
+    public ApplicationImportController(ApplicationImportService importService, ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Accepts a JSON array of applications or CSV with a {@code name,content} header. Every record is created in
+     * status CREATED; malformed records are reported per row and skipped.
+     */
+    @PostMapping(value = "/applications/import", consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV})
+    public ApplicationImportReport importApplications(InputStream body,
+                                                      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) {
+        ApplicationRecordReader reader;
+        try {
+            reader = contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                    ? new ApplicationJsonReader(objectMapper, body)
+                    : new ApplicationCsvReader(body);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return importService.importApplications(reader);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.applicationflow.controller;
+
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationPage;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.service.ReactiveApplicationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * WebFlux variant of {@link ApplicationController}, active with the {@code reactive} profile. Serves the same
+ * paths with the same responses for listing, export, lookup, creation, content edits and status actions; history,
+ * versions, bulk transitions, import, stats and the change feed are only served by the servlet stack.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApplicationController {
+
+    private final ReactiveApplicationService applicationService;
+
+    public ReactiveApplicationController(ReactiveApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    @GetMapping("/applications")
+    public Mono<ApplicationPage<ApplicationDto>> showApplicationList(@RequestParam(value = "status", required = false) ApplicationStatus status,
+                                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                                    @RequestParam(value = "size", required = false) Integer size) {
+        return applicationService.findApplications(status, cursor, size);
+    }
+
+    /**
+     * Each application is written as its own line as soon as it is read; the database is read no faster than the
+     * client consumes.
+     */
+    @GetMapping(value = "/applications/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ApplicationDto> exportApplications() {
+        return applicationService.exportApplications();
+    }
+
+    @PostMapping("/applications")
+    public Mono<ApplicationDto> createApplication(@Valid @RequestBody ApplicationDto applicationDto) {
+        return applicationService.create(applicationDto);
+    }
+
+    @GetMapping("/applications/{id}")
+    public Mono<ResponseEntity<ApplicationDto>> getApplication(@PathVariable("id") String id) {
+        return toVersionedResponse(applicationService.findApplicationById(id));
+    }
+
+    @PutMapping("/applications/{id}/content")
+    public Mono<ResponseEntity<ApplicationDto>> editApplicationContent(@PathVariable("id") String id, @RequestBody String content,
+                                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return toVersionedResponse(applicationService.edit(id, content, ApplicationController.parseIfMatch(ifMatch)));
+    }
+
+    @PostMapping("/verify-application/{id}")
+    public Mono<ResponseEntity<ApplicationDto>> verifyApplication(@PathVariable("id") String id,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return transition(id, ApplicationAction.VERIFY, null, ifMatch);
+    }
+
+    @PostMapping("/reject-application/{id}")
+    public Mono<ResponseEntity<ApplicationDto>> rejectApplication(@PathVariable("id") String id, @RequestBody String cause,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return transition(id, ApplicationAction.REJECT, cause, ifMatch);
+    }
+
+    @PostMapping("/accept-application/{id}")
+    public Mono<ResponseEntity<ApplicationDto>> acceptApplication(@PathVariable("id") String id,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return transition(id, ApplicationAction.ACCEPT, null, ifMatch);
+    }
+
+    @PostMapping("/delete-application/{id}")
+    public Mono<ResponseEntity<ApplicationDto>> deleteApplication(@PathVariable("id") String id, @RequestBody String cause,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return transition(id, ApplicationAction.DELETE, cause, ifMatch);
+    }
+
+    @PostMapping("/publish-application/{id}")
+    public Mono<ResponseEntity<ApplicationDto>> publishApplication(@PathVariable("id") String id,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return transition(id, ApplicationAction.PUBLISH, null, ifMatch);
+    }
+
+    private Mono<ResponseEntity<ApplicationDto>> transition(String id, ApplicationAction action, String cause, String ifMatch) {
+        return toVersionedResponse(applicationService.transition(id, action, cause, ApplicationController.parseIfMatch(ifMatch)));
+    }
+
+    private static Mono<ResponseEntity<ApplicationDto>> toVersionedResponse(Mono<ApplicationDto> applicationDto) {
+        return applicationDto
+                .map(application -> ResponseEntity.ok().eTag(String.valueOf(application.getVersion())).body(application))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+}
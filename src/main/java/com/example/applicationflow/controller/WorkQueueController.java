@@ -0,0 +1,48 @@
+package com.example.applicationflow.controller;
+
+import com.example.applicationflow.model.ApplicationLease;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.service.WorkQueueService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Work queue for reviewers: claim a batch of applications, work on them, renew leases that take longer and release
+ * the ones left undone. The {@code worker} parameter identifies the reviewer holding a lease.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WorkQueueController {
+
+    private final WorkQueueService workQueueService;
+
+    public WorkQueueController(WorkQueueService workQueueService) {
+        this.workQueueService = workQueueService;
+    }
+
+    @PostMapping("/work/claim")
+    public List<ApplicationLease> claim(@RequestParam(value = "status", defaultValue = "CREATED") ApplicationStatus status,
+                                       @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                       @RequestParam("worker") String worker) {
+        return workQueueService.claim(status, worker, limit);
+    }
+
+    /**
+     * 404 for an unknown application, 409 if the worker no longer holds the lease.
+     */
+    @PostMapping("/work/{id}/renew")
+    public ResponseEntity<Instant> renew(@PathVariable("id") String id, @RequestParam("worker") String worker) {
+        Instant expiresAt = workQueueService.renew(id, worker);
+        return expiresAt == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(expiresAt);
+    }
+
+    @PostMapping("/work/{id}/release")
+    public ResponseEntity<Void> release(@PathVariable("id") String id, @RequestParam("worker") String worker) {
+        return workQueueService.release(id, worker) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.applicationflow.exception;
+
+import lombok.Getter;
+
+/**
+ * Raised when a reviewer renews or releases a lease it no longer holds: it was released, the application changed
+ * status, or the lease expired and another reviewer claimed the application.
+ */
+@Getter
+public class ApplicationLeaseLostException extends RuntimeException {
+
+    private final String applicationId;
+    private final String owner;
+
+    public ApplicationLeaseLostException(String applicationId, String owner) {
+        super("Application " + applicationId + " is not leased to " + owner, null, false, false);
+        this.applicationId = applicationId;
+        this.owner = owner;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.example.applicationflow.exception;
+
+import lombok.Getter;
+
+/**
+ * Raised when a change was made against a version (the {@code If-Match} ETag) that is no longer current.
+ * Like {@link InvalidStatusException} this is an expected outcome under concurrent clients, so it carries no stack
+ * trace.
+ */
+@Getter
+public class ApplicationVersionMismatchException extends RuntimeException {
+
+    private final String applicationId;
+    private final long expectedVersion;
+
+    public ApplicationVersionMismatchException(String applicationId, long expectedVersion) {
+        super("Application " + applicationId + " is no longer at version " + expectedVersion, null, false, false);
+        this.applicationId = applicationId;
+        this.expectedVersion = expectedVersion;
+    }
+
+}
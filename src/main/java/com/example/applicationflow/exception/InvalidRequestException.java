@@ -0,0 +1,14 @@
+package com.example.applicationflow.exception;
+
+/**
+ * Raised for client input the application validates itself, such as a cursor, page size, view, {@code If-Match}
+ * header or a missing cause or content. Answered with 400 and the message, so the message must be meant for the
+ * client; any other {@link IllegalArgumentException} is a bug and stays a server error.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+}
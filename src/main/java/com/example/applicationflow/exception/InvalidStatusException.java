@@ -1,11 +1,45 @@
 package com.example.applicationflow.exception;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationStatus;
+import lombok.Getter;
 
-public class InvalidStatusException extends Throwable {
+import java.util.EnumMap;
+import java.util.Map;
 
-    public InvalidStatusException(@NotBlank @NotNull String message) {
-        super(message);
+/**
+ * Raised when an action is not allowed in the application's current status.
+ * <p>
+ * Rejections are a normal outcome under concurrent reviewers and client retries, so the exception carries no
+ * stack trace and one immutable instance is preallocated per (status, action) pair.
+ */
+@Getter
+public class InvalidStatusException extends RuntimeException {
+
+    private static final Map<ApplicationStatus, Map<ApplicationAction, InvalidStatusException>> INSTANCES = preallocate();
+
+    private final ApplicationStatus applicationStatus;
+    private final ApplicationAction action;
+
+    private InvalidStatusException(ApplicationStatus applicationStatus, ApplicationAction action) {
+        super("Invalid application status:" + applicationStatus + " for " + action, null, false, false);
+        this.applicationStatus = applicationStatus;
+        this.action = action;
+    }
+
+    public static InvalidStatusException of(ApplicationStatus applicationStatus, ApplicationAction action) {
+        return INSTANCES.get(applicationStatus).get(action);
+    }
+
+    private static Map<ApplicationStatus, Map<ApplicationAction, InvalidStatusException>> preallocate() {
+        Map<ApplicationStatus, Map<ApplicationAction, InvalidStatusException>> instances = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus applicationStatus : ApplicationStatus.values()) {
+            Map<ApplicationAction, InvalidStatusException> byAction = new EnumMap<>(ApplicationAction.class);
+            for (ApplicationAction action : ApplicationAction.values()) {
+                byAction.put(action, new InvalidStatusException(applicationStatus, action));
+            }
+            instances.put(applicationStatus, byAction);
+        }
+        return instances;
     }
 }
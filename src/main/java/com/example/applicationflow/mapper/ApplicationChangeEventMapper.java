@@ -1,22 +1,50 @@
 package com.example.applicationflow.mapper;
 
 import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationChange;
 import com.example.applicationflow.model.ApplicationChangeEvent;
+import com.example.applicationflow.model.ApplicationDto;
 
 import java.time.Instant;
+import java.util.UUID;
 
 public class ApplicationChangeEventMapper {
 
 
-    public static ApplicationChangeEvent mapToApplicationEvent(Application application, String cause) {
+    public static ApplicationChangeEvent mapToApplicationEvent(UUID eventId, Application application, String cause) {
         return ApplicationChangeEvent.builder()
+                .eventId(eventId)
+                .newEntity(true)
                 .applicationId(application.getId())
                 .name(application.getName())
-                .content(application.getContent())
+                .contentHash(application.getContentHash())
                 .status(application.getStatus())
                 .cause(cause)
                 .timestamp(Instant.now())
                 .build();
     }
 
+    /**
+     * Rebuilds the application as it was right after the event.
+     */
+    public static ApplicationDto mapToApplicationDto(ApplicationChangeEvent event, String content) {
+        return ApplicationDto.builder()
+                .id(event.getApplicationId())
+                .name(event.getName())
+                .content(content)
+                .status(event.getStatus())
+                .build();
+    }
+
+    public static ApplicationChange mapToApplicationChange(ApplicationChangeEvent event) {
+        return ApplicationChange.builder()
+                .eventId(event.getEventId())
+                .applicationId(event.getApplicationId())
+                .name(event.getName())
+                .status(event.getStatus())
+                .cause(event.getCause())
+                .timestamp(event.getTimestamp())
+                .build();
+    }
+
 }
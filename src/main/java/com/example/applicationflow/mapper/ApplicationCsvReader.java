@@ -0,0 +1,100 @@
+package com.example.applicationflow.mapper;
+
+import com.example.applicationflow.model.ApplicationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV with a header row naming the {@code name} and {@code content} columns, in any order. Quoted
+ * fields may contain separators, doubled quotes and line breaks.
+ */
+public class ApplicationCsvReader implements ApplicationRecordReader {
+
+    private static final int END = -1;
+
+    private final BufferedReader reader;
+    private final int columns;
+    private final int nameColumn;
+    private final int contentColumn;
+
+    public ApplicationCsvReader(InputStream input) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("Missing CSV header");
+        }
+        this.columns = header.size();
+        this.nameColumn = indexOf(header, "name");
+        this.contentColumn = indexOf(header, "content");
+    }
+
+    @Override
+    public ApplicationDto next() throws IOException {
+        List<String> record = readRecord();
+        if (record == null) {
+            return null;
+        }
+        if (record.size() != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " columns but found " + record.size());
+        }
+        return ApplicationDto.builder()
+                .name(record.get(nameColumn))
+                .content(record.get(contentColumn))
+                .build();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        while (c == '\r' || c == '\n') {
+            c = reader.read();
+        }
+        if (c == END) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == END) {
+                    throw new IOException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == END) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private static int indexOf(List<String> header, String column) throws IOException {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        throw new IOException("Missing CSV column: " + column);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.applicationflow.mapper;
+
+import com.example.applicationflow.model.ApplicationDto;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a JSON array of applications with the streaming parser, binding one array element at a time. An element
+ * that cannot be bound is rejected as a row; only malformed JSON makes the rest of the input unreadable.
+ */
+public class ApplicationJsonReader implements ApplicationRecordReader {
+
+    private final JsonParser parser;
+    private final ObjectReader applicationReader;
+
+    public ApplicationJsonReader(ObjectMapper objectMapper, InputStream input) throws IOException {
+        this.parser = objectMapper.createParser(input);
+        this.applicationReader = objectMapper.readerFor(ApplicationDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array of applications");
+        }
+    }
+
+    @Override
+    public ApplicationDto next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY || token == null) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            throw new IllegalArgumentException("Expected an application object but found " + token);
+        }
+        int arrayDepth = parser.getParsingContext().getParent().getNestingDepth();
+        try {
+            return applicationReader.readValue(parser);
+        } catch (JsonMappingException e) {
+            // well-formed but not an application: skip what is left of the object so the next record can be read
+            JsonToken skipped = parser.currentToken();
+            while (skipped != null && parser.getParsingContext().getNestingDepth() > arrayDepth) {
+                skipped = parser.nextToken();
+            }
+            throw new IllegalArgumentException("Invalid application: " + e.getOriginalMessage());
+        }
+    }
+
+}
@@ -13,6 +13,7 @@ public class ApplicationMapper {
                 .name(application.getName())
                 .content(application.getContent())
                 .status(application.getStatus())
+                .version(application.getVersion())
                 .build();
     }
 
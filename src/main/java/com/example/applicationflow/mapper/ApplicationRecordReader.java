@@ -0,0 +1,19 @@
+package com.example.applicationflow.mapper;
+
+import com.example.applicationflow.model.ApplicationDto;
+
+import java.io.IOException;
+
+/**
+ * Pull-style reader over an import stream, one record at a time so the input is never held in memory.
+ */
+public interface ApplicationRecordReader {
+
+    /**
+     * @return the next record, or {@code null} at the end of the input
+     * @throws IllegalArgumentException if this record is malformed; reading can continue with the next one
+     * @throws IOException if the input cannot be read further
+     */
+    ApplicationDto next() throws IOException;
+
+}
@@ -0,0 +1,65 @@
+package com.example.applicationflow.mapper;
+
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationChangeEventRow;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationRow;
+import com.example.applicationflow.model.ApplicationStatus;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Counterpart of {@link ApplicationMapper} and {@link ApplicationChangeEventMapper} for the R2DBC rows.
+ */
+public class ApplicationRowMapper {
+
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
+    private ApplicationRowMapper() {}
+
+    public static ApplicationDto mapToApplicationDto(ApplicationRow application) {
+        return ApplicationDto.builder()
+                .id(application.getId())
+                .name(application.getName())
+                .content(application.getContent())
+                .status(application.getStatus())
+                .version(application.getVersion())
+                .build();
+    }
+
+    public static ApplicationRow mapToApplicationRow(ApplicationDto applicationDto) {
+        return ApplicationRow.builder()
+                .id(applicationDto.getId())
+                .name(applicationDto.getName())
+                .content(applicationDto.getContent())
+                .status(applicationDto.getStatus())
+                .build();
+    }
+
+    public static ApplicationChangeEventRow mapToApplicationEventRow(UUID eventId, ApplicationRow application, String cause) {
+        return ApplicationChangeEventRow.builder()
+                .eventId(eventId)
+                .newEntity(true)
+                .applicationId(application.getId())
+                .name(application.getName())
+                .contentHash(application.getContentHash())
+                .status(application.getStatus() == null ? null : application.getStatus().ordinal())
+                .cause(cause)
+                .timestamp(OffsetDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+
+    public static ApplicationChange mapToApplicationChange(ApplicationChangeEventRow event) {
+        return ApplicationChange.builder()
+                .eventId(event.getEventId())
+                .applicationId(event.getApplicationId())
+                .name(event.getName())
+                .status(event.getStatus() == null ? null : STATUSES[event.getStatus()])
+                .cause(event.getCause())
+                .timestamp(event.getTimestamp().toInstant())
+                .build();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.example.applicationflow.mapper;
+
+import com.example.applicationflow.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions (the sort key values of the last returned row) into opaque, URL-safe cursors.
+ */
+public class PageCursorMapper {
+
+    private static final String SEPARATOR = ".";
+
+    private PageCursorMapper() {}
+
+    public static String encode(String... keys) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return String.join(SEPARATOR, Arrays.stream(keys)
+                .map(key -> encoder.encodeToString(key.getBytes(StandardCharsets.UTF_8)))
+                .toList());
+    }
+
+    public static String[] decode(String cursor, int expectedKeys) {
+        String[] parts = cursor.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedKeys) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        try {
+            return Arrays.stream(parts)
+                    .map(part -> new String(decoder.decode(part), StandardCharsets.UTF_8))
+                    .toArray(String[]::new);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+}
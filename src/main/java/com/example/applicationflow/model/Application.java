@@ -2,16 +2,25 @@ package com.example.applicationflow.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = @Index(name = "idx_applications_status_id", columnList = "status, id"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Setter
 @Getter
-public class Application {
+public class Application implements Persistable<String> {
 
+    /**
+     * Canonical UUID string from the {@code IdGenerator}, or any string id of rows written before it. Kept as text
+     * rather than 16 bytes, as the API, keyset cursors and existing rows use string ids, so the key and the indexes
+     * containing it stay 36 bytes wide per entry; only event ids are stored in binary.
+     */
     @Id
     @Column( nullable = false, length = 36)
     private String id;
@@ -19,7 +28,49 @@ public class Application {
     private String name;
     @Column(nullable = false)
     private String content;
+    /**
+     * Reference into {@link ApplicationContent}; {@code null} for rows written before content hashing.
+     */
+    @Column(length = 64)
+    private String contentHash;
     @Enumerated(EnumType.STRING)
     private ApplicationStatus status;
+    /**
+     * Status before the last status change, set by the same conditional update that changes {@code status}.
+     */
+    @Enumerated(EnumType.STRING)
+    private ApplicationStatus previousStatus;
+    /**
+     * Reviewer currently working on the application, see {@code WorkQueueService}. A lease is not a change: it does
+     * not bump the version and is dropped by every status change.
+     */
+    @Column(length = 64)
+    private String leaseOwner;
+    private Instant leaseExpiresAt;
+    /**
+     * Incremented by every change, exposed to clients as the ETag. The conditional updates in
+     * {@code ApplicationRepository} bump it explicitly, as bulk updates bypass Hibernate's version handling.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    /**
+     * Ids are assigned by the service, so Spring Data cannot infer newness from a null id. Without this flag
+     * every save of a new application would go through merge and issue a SELECT before the INSERT.
+     */
+    @Transient
+    private boolean newEntity;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 
 }
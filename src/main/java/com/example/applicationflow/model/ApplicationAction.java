@@ -0,0 +1,69 @@
+package com.example.applicationflow.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Actions that can be applied to an application, together with the transition table: the status each action
+ * leads to and the statuses it may be applied from. Adding an action or a status only means editing this table.
+ */
+@Getter
+public enum ApplicationAction {
+
+    VERIFY(ApplicationStatus.VERIFIED, false, ApplicationStatus.CREATED),
+    REJECT(ApplicationStatus.REJECTED, true, ApplicationStatus.VERIFIED, ApplicationStatus.ACCEPTED),
+    ACCEPT(ApplicationStatus.ACCEPTED, false, ApplicationStatus.VERIFIED),
+    PUBLISH(ApplicationStatus.PUBLISHED, false, ApplicationStatus.ACCEPTED),
+    DELETE(ApplicationStatus.DELETED, true, ApplicationStatus.CREATED),
+    /**
+     * Content change; the application keeps its current status.
+     */
+    EDIT(null, false, ApplicationStatus.CREATED, ApplicationStatus.VERIFIED);
+
+    private static final Map<ApplicationStatus, Set<ApplicationAction>> TRANSITION_TABLE = buildTransitionTable();
+
+    private final ApplicationStatus targetStatus;
+    private final boolean causeRequired;
+    private final Set<ApplicationStatus> sourceStatuses;
+
+    ApplicationAction(ApplicationStatus targetStatus, boolean causeRequired, ApplicationStatus source, ApplicationStatus... otherSources) {
+        this.targetStatus = targetStatus;
+        this.causeRequired = causeRequired;
+        this.sourceStatuses = Collections.unmodifiableSet(EnumSet.of(source, otherSources));
+    }
+
+    public boolean isAllowedFrom(ApplicationStatus status) {
+        return sourceStatuses.contains(status);
+    }
+
+    public boolean changesStatus() {
+        return targetStatus != null;
+    }
+
+    /**
+     * @return read-only map from every status to the actions allowed in it
+     */
+    public static Map<ApplicationStatus, Set<ApplicationAction>> transitionTable() {
+        return TRANSITION_TABLE;
+    }
+
+    private static Map<ApplicationStatus, Set<ApplicationAction>> buildTransitionTable() {
+        Map<ApplicationStatus, Set<ApplicationAction>> table = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            Set<ApplicationAction> actions = EnumSet.noneOf(ApplicationAction.class);
+            for (ApplicationAction action : values()) {
+                if (action.isAllowedFrom(status)) {
+                    actions.add(action);
+                }
+            }
+            table.put(status, Collections.unmodifiableSet(actions));
+        }
+        return Collections.unmodifiableMap(table);
+    }
+
+}
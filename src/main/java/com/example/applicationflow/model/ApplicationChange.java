@@ -0,0 +1,24 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Change event as pushed to {@code GET /applications/changes} subscribers; {@code eventId} is the SSE event id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationChange {
+
+    private UUID eventId;
+    private String applicationId;
+    private String name;
+    private ApplicationStatus status;
+    private String cause;
+    private Instant timestamp;
+
+}
@@ -2,33 +2,71 @@ package com.example.applicationflow.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_application_timestamp", columnList = "applicationId, timestamp, eventId"),
+        @Index(name = "idx_events_sequence", columnList = "sequenceNumber", unique = true)
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Setter
 @Getter
-public class ApplicationChangeEvent {
+public class ApplicationChangeEvent implements Persistable<UUID> {
 
+    /**
+     * Assigned from the {@code IdGenerator}; mapped to the database's native 16 byte UUID type, or BINARY(16)
+     * where there is none.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String eventId;
+    private UUID eventId;
+    /**
+     * Assigned by the database on insert, increasing in insert order. Rows may become visible out of order, since
+     * transactions commit in a different order than they insert; readers tailing by sequence must allow for gaps.
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint generated by default as identity")
+    private Long sequenceNumber;
     @Column(nullable = false, length = 36)
     private String applicationId;
     @Column(nullable = false)
     private String name;
-    @Column(nullable = false)
-    private String content;
+    /**
+     * Content is stored once per version in {@link ApplicationContent}, events only reference it.
+     */
+    @Column(nullable = false, length = 64)
+    private String contentHash;
     private ApplicationStatus status;
     private Instant timestamp;
     @NotEmpty
     @NotBlank
     private String cause;
+    /**
+     * Ids are assigned before saving, see {@link Application#isNew()}.
+     */
+    @Transient
+    private boolean newEntity;
+
+    @Override
+    public UUID getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 
 }
@@ -0,0 +1,45 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * R2DBC mapping of the {@code events} table, insert only. {@code sequence_number} is left to the database, and the
+ * status is stored by ordinal, as {@link ApplicationChangeEvent} maps it.
+ */
+@Table("events")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class ApplicationChangeEventRow implements Persistable<UUID> {
+
+    @Id
+    private UUID eventId;
+    private String applicationId;
+    private String name;
+    private String contentHash;
+    private Integer status;
+    private OffsetDateTime timestamp;
+    private String cause;
+    @Transient
+    private boolean newEntity;
+
+    @Override
+    public UUID getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Minimal view of a change event: which application changed, when, and at which position of the event sequence.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationChangeNotice {
+
+    private Long sequenceNumber;
+    private String applicationId;
+    private Instant timestamp;
+
+}
@@ -0,0 +1,51 @@
+package com.example.applicationflow.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Content-addressed application content. Events reference content by hash, so a version is stored once no matter
+ * how many events point at it.
+ */
+@Entity
+@Table(name = "contents")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class ApplicationContent implements Persistable<String> {
+
+    /**
+     * Hex encoded SHA-256 of the content.
+     */
+    @Id
+    @Column(nullable = false, length = 64)
+    private String hash;
+    /**
+     * Deflate compressed UTF-8 content.
+     */
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+    @Transient
+    private boolean newEntity;
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+}
@@ -19,5 +19,6 @@ public class ApplicationDto {
     @NotEmpty(message = "Content cannot be empty")
     private String content;
     private ApplicationStatus status;
+    private Long version;
 
 }
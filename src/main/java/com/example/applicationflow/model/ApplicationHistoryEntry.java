@@ -0,0 +1,29 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One entry of an application's audit trail. {@code content} is only filled when explicitly requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationHistoryEntry {
+
+    private UUID eventId;
+    private String name;
+    private ApplicationStatus status;
+    private Instant timestamp;
+    private String cause;
+    private String contentHash;
+    private String content;
+
+    public ApplicationHistoryEntry(UUID eventId, String name, ApplicationStatus status, Instant timestamp,
+                                   String cause, String contentHash) {
+        this(eventId, name, status, timestamp, cause, contentHash, null);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationImportError {
+
+    /**
+     * 1-based record number in the input, not counting a CSV header.
+     */
+    private long row;
+    private String message;
+
+}
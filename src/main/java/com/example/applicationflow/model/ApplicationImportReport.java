@@ -0,0 +1,22 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first errors are listed, {@code rejected} counts all of them. {@code aborted}
+ * is set when the input could not be read to the end; rows before that point stay imported.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationImportReport {
+
+    private long imported;
+    private long rejected;
+    private List<ApplicationImportError> errors;
+    private String aborted;
+
+}
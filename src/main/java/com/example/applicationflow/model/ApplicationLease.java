@@ -0,0 +1,20 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Application leased to a reviewer by {@code POST /work/claim}, until {@code expiresAt} unless renewed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationLease {
+
+    private ApplicationDto application;
+    private String owner;
+    private Instant expiresAt;
+
+}
@@ -0,0 +1,19 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationPage<T> {
+
+    private List<T> items;
+    /**
+     * Opaque token to pass as {@code cursor} for the next page, {@code null} on the last page.
+     */
+    private String nextCursor;
+
+}
@@ -0,0 +1,43 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code applications} table, used by the reactive API; the schema is owned by the JPA
+ * {@link Application} entity. Lease columns are left out, as the reactive API does not serve the work queue.
+ */
+@Table("applications")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class ApplicationRow implements Persistable<String> {
+
+    @Id
+    private String id;
+    private String name;
+    private String content;
+    private String contentHash;
+    private ApplicationStatus status;
+    private ApplicationStatus previousStatus;
+    /**
+     * Maintained by the conditional updates in {@code ReactiveApplicationRepository}, like {@link Application#getVersion()}.
+     */
+    private Long version;
+    /**
+     * Ids are assigned by the service, see {@link Application#isNew()}.
+     */
+    @Transient
+    private boolean newEntity;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+}
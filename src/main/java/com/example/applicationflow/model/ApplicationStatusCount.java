@@ -0,0 +1,25 @@
+package com.example.applicationflow.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of applications in one status, maintained incrementally by {@code ApplicationStatusCounters}.
+ */
+@Entity
+@Table(name = "application_status_counts")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class ApplicationStatusCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ApplicationStatus status;
+    @Column(nullable = false)
+    private Long total;
+
+}
@@ -0,0 +1,17 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+/**
+ * Content-less view of an application used by listings and dashboards.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSummary {
+
+    private String id;
+    private String name;
+    private ApplicationStatus status;
+
+}
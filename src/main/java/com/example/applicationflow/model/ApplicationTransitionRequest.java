@@ -0,0 +1,18 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+/**
+ * One item of a bulk transition request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationTransitionRequest {
+
+    private String id;
+    private ApplicationAction action;
+    private String cause;
+
+}
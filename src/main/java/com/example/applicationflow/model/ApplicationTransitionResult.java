@@ -0,0 +1,21 @@
+package com.example.applicationflow.model;
+
+import lombok.*;
+
+/**
+ * Result of one bulk transition item. {@code status} and {@code version} are the application's values after the
+ * request, left empty when it was not found.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationTransitionResult {
+
+    private String id;
+    private ApplicationAction action;
+    private TransitionOutcome outcome;
+    private ApplicationStatus status;
+    private Long version;
+
+}
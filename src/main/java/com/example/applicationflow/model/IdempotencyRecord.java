@@ -0,0 +1,69 @@
+package com.example.applicationflow.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a request sent with an {@code Idempotency-Key}, replayed for retries of the same request. While the
+ * first request is still being processed the record is only a reservation, without a status.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt"))
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class IdempotencyRecord implements Persistable<String> {
+
+    /**
+     * Hex encoded SHA-256 of the client's key, scoped by method and path.
+     */
+    @Id
+    @Column(nullable = false, length = 64)
+    private String idempotencyKey;
+    /**
+     * Hex encoded SHA-256 of the request body; a key reused for a different body is rejected.
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+    /**
+     * Token of the request holding the reservation, replaced when another request takes an expired one over.
+     */
+    @Column(nullable = false, length = 36)
+    private String owner;
+    private Integer status;
+    private String contentType;
+    @Column(length = 64)
+    private String etag;
+    @Lob
+    private byte[] body;
+    @Column(nullable = false)
+    private Instant createdAt;
+    @Transient
+    private boolean newEntity;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.applicationflow.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Change event waiting to be forwarded to external consumers, written in the same transaction as the event. The id
+ * increases with every message and is passed to the sink as the message offset.
+ */
+@Entity
+@Table(name = "outbox", indexes = @Index(name = "idx_outbox_pending", columnList = "deliveredAt, id"))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private UUID eventId;
+    @Column(length = 36, nullable = false)
+    private String applicationId;
+    /**
+     * The event as JSON, see {@link ApplicationChange}.
+     */
+    @Column(length = 2048, nullable = false)
+    private String payload;
+    @Column(nullable = false)
+    private Instant createdAt;
+    private Instant deliveredAt;
+
+}
@@ -0,0 +1,17 @@
+package com.example.applicationflow.model;
+
+public enum TransitionOutcome {
+    SUCCESS,
+    NOT_FOUND,
+    INVALID_STATUS,
+    /**
+     * The item itself is malformed: missing id or action, an action that does not change the status, or a missing
+     * required cause.
+     */
+    INVALID_REQUEST,
+    /**
+     * The chunk holding the item could not be written, for example because it kept losing lock races. Nothing was
+     * changed for the item, so it can be sent again.
+     */
+    FAILED
+}
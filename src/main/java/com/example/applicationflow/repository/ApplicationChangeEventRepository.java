@@ -1,7 +1,56 @@
 package com.example.applicationflow.repository;
 
+import com.example.applicationflow.model.ApplicationChange;
 import com.example.applicationflow.model.ApplicationChangeEvent;
+import com.example.applicationflow.model.ApplicationChangeNotice;
+import com.example.applicationflow.model.ApplicationHistoryEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ApplicationChangeEventRepository extends JpaRepository<ApplicationChangeEvent, String> {
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ApplicationChangeEventRepository extends JpaRepository<ApplicationChangeEvent, UUID> {
+
+    /**
+     * First page of an application's history. Both history queries are served by the
+     * {@code (applicationId, timestamp, eventId)} index without a sort.
+     */
+    @Query("select new com.example.applicationflow.model.ApplicationHistoryEntry(e.eventId, e.name, e.status, e.timestamp, e.cause, e.contentHash) " +
+            "from ApplicationChangeEvent e where e.applicationId = :applicationId " +
+            "order by e.timestamp asc, e.eventId asc")
+    List<ApplicationHistoryEntry> findHistory(@Param("applicationId") String applicationId, Pageable pageable);
+
+    @Query("select new com.example.applicationflow.model.ApplicationHistoryEntry(e.eventId, e.name, e.status, e.timestamp, e.cause, e.contentHash) " +
+            "from ApplicationChangeEvent e where e.applicationId = :applicationId " +
+            "and (e.timestamp > :timestamp or (e.timestamp = :timestamp and e.eventId > :eventId)) " +
+            "order by e.timestamp asc, e.eventId asc")
+    List<ApplicationHistoryEntry> findHistoryAfter(@Param("applicationId") String applicationId,
+                                                   @Param("timestamp") Instant timestamp,
+                                                   @Param("eventId") UUID eventId,
+                                                   Pageable pageable);
+
+    @Query("select coalesce(max(e.sequenceNumber), 0) from ApplicationChangeEvent e")
+    long findMaxSequenceNumber();
+
+    @Query("select new com.example.applicationflow.model.ApplicationChangeNotice(e.sequenceNumber, e.applicationId, e.timestamp) " +
+            "from ApplicationChangeEvent e where e.sequenceNumber > :after order by e.sequenceNumber asc")
+    List<ApplicationChangeNotice> findChangesAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select new com.example.applicationflow.model.ApplicationChangeNotice(e.sequenceNumber, e.applicationId, e.timestamp) " +
+            "from ApplicationChangeEvent e where e.sequenceNumber in :sequenceNumbers")
+    List<ApplicationChangeNotice> findChangesIn(@Param("sequenceNumbers") Collection<Long> sequenceNumbers);
+
+    /**
+     * Events written after the given one, in sequence order. Empty when the event does not exist.
+     */
+    @Query("select new com.example.applicationflow.model.ApplicationChange(e.eventId, e.applicationId, e.name, e.status, e.cause, e.timestamp) " +
+            "from ApplicationChangeEvent e where e.sequenceNumber > " +
+            "(select s.sequenceNumber from ApplicationChangeEvent s where s.eventId = :eventId) " +
+            "order by e.sequenceNumber asc")
+    List<ApplicationChange> findChangesSince(@Param("eventId") UUID eventId, Pageable pageable);
 }
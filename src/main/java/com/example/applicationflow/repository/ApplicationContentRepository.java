@@ -0,0 +1,21 @@
+package com.example.applicationflow.repository;
+
+import com.example.applicationflow.model.ApplicationContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ApplicationContentRepository extends JpaRepository<ApplicationContent, String> {
+
+    /**
+     * Stores the content unless the hash is already known, in one statement. Two transactions inserting the same
+     * hash concurrently can still both pass the check; the later one then fails on the primary key.
+     *
+     * @return 1 if inserted, 0 if the hash was already stored
+     */
+    @Modifying
+    @Query(value = "insert into contents (hash, data) select :hash, :data "
+            + "where not exists (select 1 from contents where hash = :hash)", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("data") byte[] data);
+}
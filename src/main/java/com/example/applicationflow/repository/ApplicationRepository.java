@@ -1,7 +1,123 @@
 package com.example.applicationflow.repository;
 
 import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationStatusCount;
+import com.example.applicationflow.model.ApplicationSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ApplicationRepository extends JpaRepository<Application, String> {
+
+    List<Application> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+
+    List<Application> findByStatusAndIdGreaterThanOrderByIdAsc(ApplicationStatus status, String id, Pageable pageable);
+
+    @Query("select new com.example.applicationflow.model.ApplicationSummary(a.id, a.name, a.status) from Application a "
+            + "where a.id > :id order by a.id")
+    List<ApplicationSummary> findSummariesByIdGreaterThan(@Param("id") String id, Pageable pageable);
+
+    @Query("select new com.example.applicationflow.model.ApplicationSummary(a.id, a.name, a.status) from Application a "
+            + "where a.status = :status and a.id > :id order by a.id")
+    List<ApplicationSummary> findSummariesByStatusAndIdGreaterThan(@Param("status") ApplicationStatus status, @Param("id") String id, Pageable pageable);
+
+    @Query("select a.status from Application a where a.id = :id")
+    ApplicationStatus findStatusById(@Param("id") String id);
+
+    /**
+     * Compare-and-set status change: only updates the row while it is still in one of the allowed statuses and,
+     * unless {@code version} is {@code null}, still at that version.
+     *
+     * @return number of updated rows, 0 when the application does not exist, is in another status or version
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.previousStatus = a.status, a.status = :to, a.version = a.version + 1, "
+            + "a.leaseOwner = null, a.leaseExpiresAt = null "
+            + "where a.id = :id and a.status in :from and (:version is null or a.version = :version)")
+    int updateStatus(@Param("id") String id, @Param("from") Collection<ApplicationStatus> from,
+                     @Param("to") ApplicationStatus to, @Param("version") Long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.content = :content, a.contentHash = :contentHash, a.version = a.version + 1 "
+            + "where a.id = :id and a.status in :from and (:version is null or a.version = :version)")
+    int updateContent(@Param("id") String id, @Param("from") Collection<ApplicationStatus> from,
+                      @Param("content") String content, @Param("contentHash") String contentHash,
+                      @Param("version") Long version);
+
+    /**
+     * Loads and row-locks a chunk of applications, in id order so concurrent bulk requests lock in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Application a where a.id in :ids order by a.id")
+    List<Application> findAllByIdForUpdate(@Param("ids") Collection<String> ids);
+
+    /**
+     * Set-based variant of {@link #updateStatus}, for ids already checked under {@link #findAllByIdForUpdate}.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.previousStatus = a.status, a.status = :to, a.version = a.version + 1, "
+            + "a.leaseOwner = null, a.leaseExpiresAt = null "
+            + "where a.id in :ids and a.status in :from")
+    int updateStatuses(@Param("ids") Collection<String> ids, @Param("from") Collection<ApplicationStatus> from,
+                       @Param("to") ApplicationStatus to);
+
+    /**
+     * Locks up to {@code limit} applications in the status that have no live lease, in id order along the
+     * {@code (status, id)} index. Rows locked by concurrent claims are skipped instead of waited for, so concurrent
+     * reviewers get disjoint sets.
+     */
+    @Query(value = "select * from applications where status = :status "
+            + "and (lease_expires_at is null or lease_expires_at < :now) "
+            + "order by id limit :limit for update skip locked", nativeQuery = true)
+    List<Application> lockUnleased(@Param("status") String status, @Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.leaseOwner = :owner, a.leaseExpiresAt = :expiresAt where a.id in :ids")
+    int lease(@Param("ids") Collection<String> ids, @Param("owner") String owner, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Extends a lease still held by the owner; an expired lease can be extended as long as nobody claimed it since.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.leaseExpiresAt = :expiresAt where a.id = :id and a.leaseOwner = :owner")
+    int renewLease(@Param("id") String id, @Param("owner") String owner, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.leaseOwner = null, a.leaseExpiresAt = null where a.id = :id and a.leaseOwner = :owner")
+    int releaseLease(@Param("id") String id, @Param("owner") String owner);
+
+    /**
+     * Full count per status. Scans the table, only used to reconcile the maintained counters.
+     */
+    @Query("select new com.example.applicationflow.model.ApplicationStatusCount(a.status, count(a)) from Application a group by a.status")
+    List<ApplicationStatusCount> countByStatus();
+
+    /**
+     * Sets the hash of a row written before content hashing. Does not count as a change, so the version stays.
+     */
+    @Modifying
+    @Query("update Application a set a.contentHash = :contentHash where a.id = :id and a.contentHash is null")
+    int backfillContentHash(@Param("id") String id, @Param("contentHash") String contentHash);
+
+    /**
+     * Forward-only cursor over all applications. Rows are read as DTOs, so they never enter the persistence
+     * context and memory stays flat however many rows are streamed. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.applicationflow.model.ApplicationDto(a.id, a.name, a.content, a.status, a.version) from Application a order by a.id")
+    Stream<ApplicationDto> streamAllApplications();
 }
@@ -0,0 +1,19 @@
+package com.example.applicationflow.repository;
+
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ApplicationStatusCountRepository extends JpaRepository<ApplicationStatusCount, ApplicationStatus> {
+
+    /**
+     * Relative update, so instances flushing their deltas concurrently do not overwrite each other.
+     */
+    @Modifying
+    @Query("update ApplicationStatusCount c set c.total = c.total + :delta where c.status = :status")
+    int addToTotal(@Param("status") ApplicationStatus status, @Param("delta") long delta);
+
+}
@@ -0,0 +1,34 @@
+package com.example.applicationflow.repository;
+
+import com.example.applicationflow.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = :status, r.contentType = :contentType, r.etag = :etag, r.body = :body "
+            + "where r.idempotencyKey = :idempotencyKey and r.owner = :owner and r.status is null")
+    int complete(@Param("idempotencyKey") String idempotencyKey, @Param("owner") String owner, @Param("status") int status,
+                 @Param("contentType") String contentType, @Param("etag") String etag, @Param("body") byte[] body);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :idempotencyKey and r.owner = :owner and r.status is null")
+    int release(@Param("idempotencyKey") String idempotencyKey, @Param("owner") String owner);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.fingerprint = :fingerprint, r.owner = :owner, r.createdAt = :createdAt "
+            + "where r.idempotencyKey = :idempotencyKey and r.status is null and r.createdAt < :expiredBefore")
+    int takeOver(@Param("idempotencyKey") String idempotencyKey, @Param("fingerprint") String fingerprint,
+                 @Param("owner") String owner, @Param("createdAt") Instant createdAt,
+                 @Param("expiredBefore") Instant expiredBefore);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+
+}
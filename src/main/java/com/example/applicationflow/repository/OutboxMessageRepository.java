@@ -0,0 +1,31 @@
+package com.example.applicationflow.repository;
+
+import com.example.applicationflow.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest undelivered messages, skipping rows locked by other relay workers instead of waiting for
+     * them, so concurrent workers claim disjoint batches.
+     */
+    @Query(value = "select * from outbox where delivered_at is null order by id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<OutboxMessage> lockPending(@Param("limit") int limit);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.deliveredAt = :deliveredAt where m.id in :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") Instant deliveredAt);
+
+    @Modifying
+    @Query("delete from OutboxMessage m where m.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") Instant before);
+
+}
@@ -0,0 +1,9 @@
+package com.example.applicationflow.repository;
+
+import com.example.applicationflow.model.ApplicationChangeEventRow;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import java.util.UUID;
+
+public interface ReactiveApplicationChangeEventRepository extends R2dbcRepository<ApplicationChangeEventRow, UUID> {
+}
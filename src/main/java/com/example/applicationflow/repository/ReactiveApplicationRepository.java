@@ -0,0 +1,68 @@
+package com.example.applicationflow.repository;
+
+import com.example.applicationflow.model.ApplicationRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive counterpart of {@link ApplicationRepository}. Statuses are passed by name, as they are stored. The
+ * conditional updates come in pairs with and without a version, since a {@code :version is null} check cannot be
+ * typed by every R2DBC driver.
+ */
+public interface ReactiveApplicationRepository extends R2dbcRepository<ApplicationRow, String> {
+
+    @Query("select * from applications where id > :afterId order by id limit :limit")
+    Flux<ApplicationRow> findPage(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    @Query("select * from applications where status = :status and id > :afterId order by id limit :limit")
+    Flux<ApplicationRow> findPageByStatus(@Param("status") String status, @Param("afterId") String afterId,
+                                          @Param("limit") int limit);
+
+    /**
+     * All applications in id order; rows are emitted as the driver fetches them, under the subscriber's demand.
+     */
+    @Query("select * from applications order by id")
+    Flux<ApplicationRow> streamAll();
+
+    @Query("select status from applications where id = :id")
+    Mono<String> findStatusById(@Param("id") String id);
+
+    /**
+     * Compare-and-set status change, see {@link ApplicationRepository#updateStatus}.
+     */
+    @Modifying
+    @Query("update applications set previous_status = status, status = :to, version = version + 1, "
+            + "lease_owner = null, lease_expires_at = null "
+            + "where id = :id and status in (:from)")
+    Mono<Integer> updateStatus(@Param("id") String id, @Param("from") Collection<String> from, @Param("to") String to);
+
+    @Modifying
+    @Query("update applications set previous_status = status, status = :to, version = version + 1, "
+            + "lease_owner = null, lease_expires_at = null "
+            + "where id = :id and status in (:from) and version = :version")
+    Mono<Integer> updateStatusAtVersion(@Param("id") String id, @Param("from") Collection<String> from,
+                                        @Param("to") String to, @Param("version") long version);
+
+    @Modifying
+    @Query("update applications set content = :content, content_hash = :contentHash, version = version + 1 "
+            + "where id = :id and status in (:from)")
+    Mono<Integer> updateContent(@Param("id") String id, @Param("from") Collection<String> from,
+                                @Param("content") String content, @Param("contentHash") String contentHash);
+
+    @Modifying
+    @Query("update applications set content = :content, content_hash = :contentHash, version = version + 1 "
+            + "where id = :id and status in (:from) and version = :version")
+    Mono<Integer> updateContentAtVersion(@Param("id") String id, @Param("from") Collection<String> from,
+                                         @Param("content") String content, @Param("contentHash") String contentHash,
+                                         @Param("version") long version);
+
+    @Modifying
+    @Query("update applications set content_hash = :contentHash where id = :id and content_hash is null")
+    Mono<Integer> backfillContentHash(@Param("id") String id, @Param("contentHash") String contentHash);
+}
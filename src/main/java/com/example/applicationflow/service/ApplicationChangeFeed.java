@@ -0,0 +1,264 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed {@link ApplicationChange}s to {@code GET /applications/changes} subscribers as server-sent events.
+ * <p>
+ * The {@link ApplicationEventJournal}s (and the import) publish each event once it is persisted. Publishing only
+ * offers to the subscriber's bounded buffer, so writers never wait for a subscriber: one whose buffer is full is
+ * disconnected and resumes with {@code Last-Event-ID}, which replays the events written after that id from the events
+ * table. A replay longer than {@code max-replay} is answered with a {@code reset} event instead, telling the client to
+ * reload the applications. Only changes written by this instance are pushed live; replay covers all instances.
+ * <p>
+ * Sends run on a fixed pool of {@code senders} threads. A send blocks on a slow socket, so a subscriber that cannot
+ * get its turn either fills its buffer or finds the send queue full, and is disconnected either way.
+ */
+@Slf4j
+@Component
+public class ApplicationChangeFeed {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    private final ApplicationChangeEventRepository eventRepository;
+    private final int bufferSize;
+    private final int maxReplay;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    private final Counter droppedSubscribers;
+
+    public ApplicationChangeFeed(ApplicationChangeEventRepository eventRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${applicationflow.changes.buffer-size:256}") int bufferSize,
+                                 @Value("${applicationflow.changes.max-replay:1000}") int maxReplay,
+                                 @Value("${applicationflow.changes.timeout:30m}") Duration timeout,
+                                 @Value("${applicationflow.changes.senders:16}") int senderThreads,
+                                 @Value("${applicationflow.changes.max-pending:1024}") int maxPending) {
+        this.eventRepository = eventRepository;
+        this.bufferSize = bufferSize;
+        this.maxReplay = maxReplay;
+        this.timeout = timeout;
+        // each subscriber has at most one send task queued or running; one that finds the queue full is disconnected
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxPending), new CustomizableThreadFactory("change-feed-"));
+        senders.allowCoreThreadTimeOut(true);
+        this.droppedSubscribers = Counter.builder("applicationflow.changes.subscribers.dropped")
+                .description("Subscribers disconnected because their buffer or the send queue was full")
+                .register(meterRegistry);
+        Gauge.builder("applicationflow.changes.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * @param lastEventId id of the last event the client received, {@code null} to receive only new events
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        Subscriber subscriber = new Subscriber(newEmitter(), bufferSize);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        // registered before the replay query, so nothing committed in between is missed; duplicates are skipped
+        subscribers.add(subscriber);
+        subscriber.draining.set(true);
+        subscriber.execute(() -> {
+            try {
+                if (lastEventId != null) {
+                    subscriber.replay(lastEventId);
+                }
+            } finally {
+                subscriber.draining.set(false);
+            }
+            subscriber.schedule();
+        });
+        return subscriber.emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    public void publish(ApplicationChange change) {
+        subscribers.forEach(subscriber -> subscriber.offer(change));
+    }
+
+    public void publish(List<ApplicationChange> changes) {
+        changes.forEach(this::publish);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<ApplicationChange> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Set<UUID> replayed = new HashSet<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(ApplicationChange change) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(change)) {
+                drop("Change feed subscriber too slow, disconnecting");
+                return;
+            }
+            schedule();
+        }
+
+        /**
+         * Whoever holds {@code draining} is the only one sending, so a closed subscriber is completed under it too:
+         * completing takes the emitter's lock, which a send to a stalled socket holds until it times out.
+         */
+        void schedule() {
+            if ((closed.get() || !buffer.isEmpty()) && draining.compareAndSet(false, true)) {
+                execute(closed.get() ? this::complete : this::drain);
+            }
+        }
+
+        void execute(Runnable task) {
+            try {
+                senders.execute(task);
+            } catch (RejectedExecutionException e) {
+                // nothing is sending to this subscriber, so completing it here cannot wait on a send
+                if (markClosed()) {
+                    droppedSubscribers.increment();
+                    log.debug("Change feed send queue full, disconnecting subscriber");
+                }
+                complete();
+            }
+        }
+
+        /**
+         * @return {@code false} if the subscriber was closed
+         */
+        boolean replay(String lastEventId) {
+            UUID eventId = parseEventId(lastEventId);
+            List<ApplicationChange> changes = eventId == null ? List.of()
+                    : eventRepository.findChangesSince(eventId, PageRequest.of(0, maxReplay + 1));
+            // an unknown id cannot be resumed from, same as a gap too long to replay
+            boolean unknown = changes.isEmpty() && (eventId == null || !eventRepository.existsById(eventId));
+            if (unknown || changes.size() > maxReplay) {
+                return send(SseEmitter.event().name(RESET_EVENT).data(""));
+            }
+            for (ApplicationChange change : changes) {
+                replayed.add(change.getEventId());
+                if (!send(event(change))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void drain() {
+            try {
+                ApplicationChange change;
+                while (!closed.get() && (change = buffer.poll()) != null) {
+                    if (!replayed.contains(change.getEventId())) {
+                        send(event(change));
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            schedule();
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                markClosed();
+                return false;
+            }
+        }
+
+        /**
+         * Runs on the publishing thread, so it only marks the subscriber closed and leaves completing it to
+         * {@link #schedule()}.
+         */
+        private void drop(String reason) {
+            if (markClosed()) {
+                droppedSubscribers.increment();
+                log.debug(reason);
+            }
+            schedule();
+        }
+
+        /**
+         * @return {@code false} if the subscriber was already closed
+         */
+        private boolean markClosed() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.remove(this);
+            buffer.clear();
+            return true;
+        }
+
+        /**
+         * Leaves {@code draining} set, nothing is sent after this.
+         */
+        private void complete() {
+            emitter.complete();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(ApplicationChange change) {
+        return SseEmitter.event()
+                .id(change.getEventId().toString())
+                .name(CHANGE_EVENT)
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private static UUID parseEventId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.repository.ApplicationContentRepository;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores each distinct application content once, compressed and keyed by its SHA-256 hash.
+ */
+@Service
+public class ApplicationContentStore {
+
+    private final ApplicationContentRepository contentRepository;
+
+    public ApplicationContentStore(ApplicationContentRepository contentRepository) {
+        this.contentRepository = contentRepository;
+    }
+
+    public static String hashOf(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Must be called in the transaction that references the hash, so content and reference commit together. When a
+     * concurrent transaction stores the same content first, fails with a {@link ConcurrencyFailureException}, so the
+     * {@link TransactionRetryPolicy} repeats the work and finds the content stored.
+     */
+    public void storeIfAbsent(String hash, String content) {
+        try {
+            contentRepository.insertIfAbsent(hash, compress(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrencyFailureException("Content " + hash + " stored concurrently", e);
+        }
+    }
+
+    /**
+     * @return the content with the given hash, or {@code null} if it is unknown
+     */
+    public String load(String hash) {
+        return contentRepository.findById(hash)
+                .map(content -> new String(decompress(content.getData()), StandardCharsets.UTF_8))
+                .orElse(null);
+    }
+
+    static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 2);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated application content");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted application content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
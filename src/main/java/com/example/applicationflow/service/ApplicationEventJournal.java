@@ -0,0 +1,12 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationChangeEvent;
+
+/**
+ * Destination of the {@link ApplicationChangeEvent}s produced by application changes.
+ */
+public interface ApplicationEventJournal {
+
+    void append(ApplicationChangeEvent event);
+
+}
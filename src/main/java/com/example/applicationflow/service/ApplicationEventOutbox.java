@@ -0,0 +1,66 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationChange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes change events to the {@code outbox} table, inside the transaction that writes the events, so an event is
+ * forwarded by the {@link OutboxRelay} if and only if it was committed. Rows are inserted as one JDBC batch, which
+ * joins the caller's JPA transaction. Does nothing unless {@code applicationflow.outbox.enabled} is set.
+ */
+@Component
+public class ApplicationEventOutbox {
+
+    private static final String INSERT_MESSAGE =
+            "insert into outbox (event_id, application_id, payload, created_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectWriter changeWriter;
+    private final boolean enabled;
+
+    public ApplicationEventOutbox(JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${applicationflow.outbox.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeWriter = objectMapper.writerFor(ApplicationChange.class);
+        this.enabled = enabled;
+    }
+
+    public void add(List<ApplicationChange> changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (ApplicationChange change : changes) {
+            rows.add(new Object[]{change.getEventId(), change.getApplicationId(), toPayload(change), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE, rows);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The message body stored for a change; also used by writers that insert outbox rows without JDBC.
+     */
+    public String toPayload(ApplicationChange change) {
+        try {
+            return changeWriter.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event " + change.getEventId(), e);
+        }
+    }
+
+}
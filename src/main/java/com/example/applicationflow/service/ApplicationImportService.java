@@ -0,0 +1,220 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.mapper.ApplicationRecordReader;
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationImportError;
+import com.example.applicationflow.model.ApplicationImportReport;
+import com.example.applicationflow.model.ApplicationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Imports applications from a stream. Records are validated one by one and written in chunks, one transaction per
+ * chunk, as JDBC batch inserts into {@code applications}, {@code contents} and {@code events}; only the current
+ * chunk is held in memory. A crash, a fatal read error or a chunk failing to write leaves the chunks committed
+ * before it in place; the last two are reported as {@code aborted} with the counts so far.
+ * <p>
+ * The SQL bypasses JPA and the {@link ApplicationEventJournal} for throughput, so it must follow the entity
+ * mappings: column names, the string status of applications and the ordinal status of events.
+ */
+@Slf4j
+@Service
+public class ApplicationImportService {
+
+    /**
+     * Length of the {@code name} and {@code content} columns.
+     */
+    static final int MAX_LENGTH = 255;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_APPLICATION =
+            "insert into applications (id, name, content, content_hash, status, version) values (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_CONTENT =
+            "insert into contents (hash, data) select ?, ? where not exists (select 1 from contents where hash = ?)";
+    private static final String INSERT_EVENT =
+            "insert into events (event_id, application_id, name, content_hash, status, timestamp) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+    private final ApplicationStatusCounters statusCounters;
+    private final ApplicationEventOutbox eventOutbox;
+    private final ApplicationChangeFeed changeFeed;
+    private final TransactionRetryPolicy retryPolicy;
+    private final int chunkSize;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public ApplicationImportService(JdbcTemplate jdbcTemplate,
+                                    IdGenerator idGenerator,
+                                    ApplicationStatusCounters statusCounters,
+                                    ApplicationEventOutbox eventOutbox,
+                                    ApplicationChangeFeed changeFeed,
+                                    TransactionRetryPolicy retryPolicy,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${applicationflow.import.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idGenerator = idGenerator;
+        this.statusCounters = statusCounters;
+        this.eventOutbox = eventOutbox;
+        this.changeFeed = changeFeed;
+        this.retryPolicy = retryPolicy;
+        this.chunkSize = chunkSize;
+        this.importedRows = meterRegistry.counter("applicationflow.import.rows", "result", "imported");
+        this.rejectedRows = meterRegistry.counter("applicationflow.import.rows", "result", "rejected");
+    }
+
+    public ApplicationImportReport importApplications(ApplicationRecordReader reader) {
+        List<ApplicationDto> chunk = new ArrayList<>(chunkSize);
+        List<ApplicationImportError> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        long row = 0;
+        long lastRow = 0;
+        String aborted = null;
+        while (true) {
+            ApplicationDto applicationDto;
+            row++;
+            try {
+                applicationDto = reader.next();
+            } catch (IllegalArgumentException e) {
+                rejected += reject(errors, row, e.getMessage());
+                continue;
+            } catch (IOException e) {
+                aborted = "Input unreadable at row " + row + ": " + e.getMessage();
+                break;
+            }
+            if (applicationDto == null) {
+                break;
+            }
+            String error = validate(applicationDto);
+            if (error != null) {
+                rejected += reject(errors, row, error);
+                continue;
+            }
+            chunk.add(applicationDto);
+            lastRow = row;
+            if (chunk.size() == chunkSize) {
+                try {
+                    imported += writeChunk(chunk);
+                } catch (DataAccessException e) {
+                    aborted = databaseError(lastRow, e);
+                    chunk.clear();
+                    break;
+                }
+                log.info("Imported {} applications, rejected {}", imported, rejected);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            try {
+                imported += writeChunk(chunk);
+            } catch (DataAccessException e) {
+                aborted = databaseError(lastRow, e);
+            }
+        }
+        log.info("Import finished: {} applications imported, {} rejected{}", imported, rejected,
+                aborted == null ? "" : ", aborted: " + aborted);
+        return ApplicationImportReport.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .errors(errors)
+                .aborted(aborted)
+                .build();
+    }
+
+    private int writeChunk(List<ApplicationDto> chunk) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> applications = new ArrayList<>(chunk.size());
+        List<Object[]> events = new ArrayList<>(chunk.size());
+        List<ApplicationChange> changes = new ArrayList<>(chunk.size());
+        Map<String, String> contents = new LinkedHashMap<>();
+        for (ApplicationDto applicationDto : chunk) {
+            String id = idGenerator.next().toString();
+            String contentHash = ApplicationContentStore.hashOf(applicationDto.getContent());
+            contents.putIfAbsent(contentHash, applicationDto.getContent());
+            applications.add(new Object[]{id, applicationDto.getName(), applicationDto.getContent(), contentHash,
+                    ApplicationStatus.CREATED.name()});
+            UUID eventId = idGenerator.next();
+            events.add(new Object[]{eventId, id, applicationDto.getName(), contentHash,
+                    ApplicationStatus.CREATED.ordinal(), now});
+            changes.add(new ApplicationChange(eventId, id, applicationDto.getName(), ApplicationStatus.CREATED, null, now.toInstant()));
+        }
+        List<Object[]> contentRows = new ArrayList<>(contents.size());
+        contents.forEach((hash, content) -> contentRows.add(new Object[]{hash,
+                ApplicationContentStore.compress(content.getBytes(StandardCharsets.UTF_8)), hash}));
+        retryPolicy.execute(() -> {
+            insertContents(contentRows);
+            jdbcTemplate.batchUpdate(INSERT_APPLICATION, applications);
+            jdbcTemplate.batchUpdate(INSERT_EVENT, events);
+            eventOutbox.add(changes);
+            statusCounters.recordCreated(applications.size());
+            return null;
+        });
+        changeFeed.publish(changes);
+        importedRows.increment(chunk.size());
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+    /**
+     * Same as {@link ApplicationContentStore#storeIfAbsent}: the insert skips stored content, and losing the race with
+     * a concurrent insert of the same content fails the attempt with a {@link ConcurrencyFailureException}, so the
+     * {@link TransactionRetryPolicy} repeats the chunk and finds the content stored.
+     */
+    private void insertContents(List<Object[]> contentRows) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_CONTENT, contentRows);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrencyFailureException("Content stored concurrently", e);
+        }
+    }
+
+    /**
+     * The chunks before the failing one stay committed, so the import is reported as aborted rather than failed. The
+     * cause is only logged, as it may name tables and constraints.
+     */
+    private static String databaseError(long lastRow, DataAccessException e) {
+        log.warn("Import aborted writing the chunk ending at row {}", lastRow, e);
+        return "Database error writing the rows up to row " + lastRow;
+    }
+
+    private long reject(List<ApplicationImportError> errors, long row, String message) {
+        rejectedRows.increment();
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ApplicationImportError(row, message));
+        }
+        return 1;
+    }
+
+    private static String validate(ApplicationDto applicationDto) {
+        if (applicationDto.getName() == null || applicationDto.getName().isBlank()) {
+            return "Name cannot be empty";
+        }
+        if (applicationDto.getContent() == null || applicationDto.getContent().isBlank()) {
+            return "Content cannot be empty";
+        }
+        if (applicationDto.getName().length() > MAX_LENGTH || applicationDto.getContent().length() > MAX_LENGTH) {
+            return "Name and content are limited to " + MAX_LENGTH + " characters";
+        }
+        return null;
+    }
+
+}
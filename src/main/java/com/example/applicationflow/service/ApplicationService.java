@@ -1,9 +1,15 @@
 package com.example.applicationflow.service;
 
 import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.model.ApplicationAction;
 import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationHistoryEntry;
+import com.example.applicationflow.model.ApplicationPage;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationSummary;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 
 public interface ApplicationService {
@@ -12,17 +18,44 @@ public interface ApplicationService {
 
     ApplicationDto findApplicationById(String id);
 
+    /**
+     * Rebuilds the application as it was right after the given change event.
+     *
+     * @return the historical version, or {@code null} if the event does not belong to the application
+     */
+    ApplicationDto findApplicationVersion(String id, String eventId);
+
+    /**
+     * Keyset paged audit trail of one application, oldest change first.
+     *
+     * @return the page, or {@code null} if the application does not exist
+     */
+    ApplicationPage<ApplicationHistoryEntry> findApplicationHistory(String id, String cursor, Integer size, boolean includeContent);
+
     List<ApplicationDto> findAllApplications();
 
-    ApplicationDto delete(String id, String cause) throws InvalidStatusException;
+    ApplicationPage<ApplicationDto> findApplications(ApplicationStatus status, String cursor, Integer size);
+
+    ApplicationPage<ApplicationSummary> findApplicationSummaries(ApplicationStatus status, String cursor, Integer size);
 
-    ApplicationDto verify(ApplicationDto applicationDto) throws InvalidStatusException;
+    void exportApplications(Consumer<ApplicationDto> consumer);
 
-    ApplicationDto reject(ApplicationDto applicationDto, String cause) throws InvalidStatusException;
+    /**
+     * Applies a status changing action if the application's current status allows it.
+     *
+     * @return the changed application, or {@code null} if it does not exist
+     */
+    ApplicationDto transition(String id, ApplicationAction action, String cause) throws InvalidStatusException;
 
-    ApplicationDto accept(ApplicationDto applicationDto) throws InvalidStatusException;
+    /**
+     * Like {@link #transition(String, ApplicationAction, String)}, but only while the application is still at
+     * {@code expectedVersion}; {@code null} accepts any version.
+     *
+     * @throws com.example.applicationflow.exception.ApplicationVersionMismatchException if the version changed
+     */
+    ApplicationDto transition(String id, ApplicationAction action, String cause, Long expectedVersion) throws InvalidStatusException;
 
-    ApplicationDto publish(ApplicationDto applicationDto) throws InvalidStatusException;
+    ApplicationDto edit(String id, String content) throws InvalidStatusException;
 
-    ApplicationDto edit(ApplicationDto applicationDto, String content) throws InvalidStatusException;
+    ApplicationDto edit(String id, String content, Long expectedVersion) throws InvalidStatusException;
 }
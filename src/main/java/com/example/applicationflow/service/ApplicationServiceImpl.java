@@ -1,44 +1,105 @@
 package com.example.applicationflow.service;
 
+import com.example.applicationflow.config.CacheConfig;
+import com.example.applicationflow.model.ApplicationAction;
 import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.exception.ApplicationVersionMismatchException;
+import com.example.applicationflow.exception.InvalidRequestException;
 import com.example.applicationflow.exception.InvalidStatusException;
 import com.example.applicationflow.mapper.ApplicationChangeEventMapper;
 import com.example.applicationflow.mapper.ApplicationMapper;
+import com.example.applicationflow.mapper.PageCursorMapper;
 import com.example.applicationflow.model.Application;
 import com.example.applicationflow.model.ApplicationChangeEvent;
 import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationHistoryEntry;
+import com.example.applicationflow.model.ApplicationPage;
+import com.example.applicationflow.model.ApplicationSummary;
 import com.example.applicationflow.repository.ApplicationChangeEventRepository;
 import com.example.applicationflow.repository.ApplicationRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Every operation runs in one transaction, so an application change and its {@link ApplicationChangeEvent}
+ * are committed together, with a single commit per operation (unless a write-behind
+ * {@link ApplicationEventJournal} is configured).
+ */
 @Service
+@Transactional
 public class ApplicationServiceImpl implements ApplicationService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
     private final ApplicationRepository applicationRepository;
     private final ApplicationChangeEventRepository eventRepository;
+    private final ApplicationEventJournal eventJournal;
+    private final ApplicationContentStore contentStore;
+    private final TransactionRetryPolicy retryPolicy;
+    private final IdGenerator idGenerator;
+    private final ApplicationStatusCounters statusCounters;
 
-
-    public ApplicationServiceImpl(ApplicationRepository applicationRepository, ApplicationChangeEventRepository eventRepository) {
+    public ApplicationServiceImpl(ApplicationRepository applicationRepository,
+                                  ApplicationChangeEventRepository eventRepository,
+                                  ApplicationEventJournal eventJournal,
+                                  ApplicationContentStore contentStore,
+                                  TransactionRetryPolicy retryPolicy,
+                                  IdGenerator idGenerator,
+                                  ApplicationStatusCounters statusCounters) {
         this.applicationRepository = applicationRepository;
         this.eventRepository = eventRepository;
+        this.eventJournal = eventJournal;
+        this.contentStore = contentStore;
+        this.retryPolicy = retryPolicy;
+        this.idGenerator = idGenerator;
+        this.statusCounters = statusCounters;
     }
 
+    /**
+     * Runs through the {@link TransactionRetryPolicy}, as storing the content can lose a race with a concurrent
+     * change of identical content.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ApplicationDto create(ApplicationDto applicationDto) {
-        Application application = ApplicationMapper.mapToApplication(applicationDto);
-        application.setStatus(ApplicationStatus.CREATED);
-        application.setId(UUID.randomUUID().toString());
-        applicationRepository.save(application);
-        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(application, null);
-        eventRepository.save(event);
-        return ApplicationMapper.mapToApplicationDto(application);
+        String id = idGenerator.next().toString();
+        return retryPolicy.execute(() -> {
+            Application application = ApplicationMapper.mapToApplication(applicationDto);
+            application.setStatus(ApplicationStatus.CREATED);
+            application.setId(id);
+            application.setNewEntity(true);
+            if (application.getContent() != null) {
+                application.setContentHash(ApplicationContentStore.hashOf(application.getContent()));
+                contentStore.storeIfAbsent(application.getContentHash(), application.getContent());
+            }
+            applicationRepository.save(application);
+            ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(idGenerator.next(), application, null);
+            eventJournal.append(event);
+            statusCounters.recordCreated(1);
+            return ApplicationMapper.mapToApplicationDto(application);
+        });
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationDto> findAllApplications() {
         return applicationRepository.findAll()
                 .stream()
@@ -47,97 +108,221 @@ public class ApplicationServiceImpl implements ApplicationService {
     }
 
     @Override
-    public ApplicationDto findApplicationById(String id) {
-        return applicationRepository.findById(id).map(ApplicationMapper::mapToApplicationDto).orElse(null);
+    @Transactional(readOnly = true)
+    public ApplicationPage<ApplicationDto> findApplications(ApplicationStatus status, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        String afterId = decodeAfterId(cursor);
+        List<ApplicationDto> applications = (status == null
+                ? applicationRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageLimit(pageSize))
+                : applicationRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, pageLimit(pageSize)))
+                .stream()
+                .map(ApplicationMapper::mapToApplicationDto)
+                .collect(Collectors.toList());
+        return toPage(applications, pageSize, application -> PageCursorMapper.encode(application.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApplicationPage<ApplicationSummary> findApplicationSummaries(ApplicationStatus status, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        String afterId = decodeAfterId(cursor);
+        List<ApplicationSummary> summaries = status == null
+                ? applicationRepository.findSummariesByIdGreaterThan(afterId, pageLimit(pageSize))
+                : applicationRepository.findSummariesByStatusAndIdGreaterThan(status, afterId, pageLimit(pageSize));
+        return toPage(summaries, pageSize, summary -> PageCursorMapper.encode(summary.getId()));
     }
 
     @Override
-    public ApplicationDto delete(String id, String cause) throws InvalidStatusException {
-        ApplicationDto applicationDto = findApplicationById(id);
-        if (applicationDto == null) {
-            throw new IllegalArgumentException("Application not found");
+    @Transactional(readOnly = true)
+    public ApplicationPage<ApplicationHistoryEntry> findApplicationHistory(String id, String cursor, Integer size, boolean includeContent) {
+        int pageSize = resolvePageSize(size);
+        List<ApplicationHistoryEntry> entries;
+        if (cursor == null) {
+            entries = eventRepository.findHistory(id, pageLimit(pageSize));
+            // every application has a creation event, so only an empty first page needs the existence check
+            if (entries.isEmpty() && !applicationRepository.existsById(id)) {
+                return null;
+            }
+        } else {
+            String[] position = PageCursorMapper.decode(cursor, 2);
+            entries = eventRepository.findHistoryAfter(id, parseTimestamp(position[0]), parseEventId(position[1]), pageLimit(pageSize));
         }
-        if (cause == null || cause.isBlank()) {
-            throw new IllegalArgumentException("Cause is required");
+        ApplicationPage<ApplicationHistoryEntry> page = toPage(entries, pageSize,
+                entry -> PageCursorMapper.encode(entry.getTimestamp().toString(), entry.getEventId().toString()));
+        if (includeContent) {
+            // consecutive events mostly share a version, load each distinct one once
+            Map<String, String> contents = new HashMap<>();
+            page.getItems().forEach(entry -> entry.setContent(
+                    contents.computeIfAbsent(entry.getContentHash(), contentStore::load)));
         }
-        if (ApplicationStatus.CREATED != applicationDto.getStatus()) {
-            throw new InvalidStatusException(applicationDto.getStatus().toString());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportApplications(Consumer<ApplicationDto> consumer) {
+        try (Stream<ApplicationDto> applications = applicationRepository.streamAllApplications()) {
+            applications.forEach(consumer);
         }
-        applicationDto.setStatus(ApplicationStatus.DELETED);
-        Application application = applicationRepository.save(ApplicationMapper.mapToApplication(applicationDto));
-        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(application, cause);
-        eventRepository.save(event);
-        return ApplicationMapper.mapToApplicationDto(application);
     }
 
     @Override
-    public ApplicationDto verify(ApplicationDto applicationDto) throws InvalidStatusException {
-        if (applicationDto.getStatus() != ApplicationStatus.CREATED) {
-            throw new InvalidStatusException("Invalid application status:" + applicationDto.getStatus().toString());
-        }
-        applicationDto.setStatus(ApplicationStatus.VERIFIED);
-        Application application = applicationRepository.save(ApplicationMapper.mapToApplication(applicationDto));
-        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(application, null);
-        eventRepository.save(event);
-        return ApplicationMapper.mapToApplicationDto(application);
+    @Transactional(readOnly = true)
+    // sync: the load goes through Cache.get(key, loader), which drops it if it raced an eviction
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS, key = "#id", sync = true)
+    public ApplicationDto findApplicationById(String id) {
+        return applicationRepository.findById(id).map(ApplicationMapper::mapToApplicationDto).orElse(null);
     }
 
     @Override
-    public ApplicationDto reject(ApplicationDto applicationDto, String cause) throws InvalidStatusException {
-        if (cause == null || cause.isBlank()) {
-            throw new IllegalArgumentException("Cause is required");
-        }
-        if (applicationDto.getStatus() != ApplicationStatus.VERIFIED
-                && applicationDto.getStatus() != ApplicationStatus.ACCEPTED) {
-            throw new InvalidStatusException("Invalid application status:" + applicationDto.getStatus().toString());
-        }
-        applicationDto.setStatus(ApplicationStatus.REJECTED);
-        Application application = applicationRepository.save(ApplicationMapper.mapToApplication(applicationDto));
-        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(application, cause);
-        eventRepository.save(event);
-        return ApplicationMapper.mapToApplicationDto(application);
+    @Transactional(readOnly = true)
+    public ApplicationDto findApplicationVersion(String id, String eventId) {
+        UUID eventUuid;
+        try {
+            eventUuid = UUID.fromString(eventId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return eventRepository.findById(eventUuid)
+                .filter(event -> event.getApplicationId().equals(id))
+                .map(event -> ApplicationChangeEventMapper.mapToApplicationDto(event, contentStore.load(event.getContentHash())))
+                .orElse(null);
     }
 
     @Override
-    public ApplicationDto accept(ApplicationDto applicationDto) throws InvalidStatusException {
-        if (applicationDto.getStatus() != ApplicationStatus.VERIFIED) {
-            throw new InvalidStatusException("Invalid application status:" + applicationDto.getStatus().toString());
-        }
-        applicationDto.setStatus(ApplicationStatus.ACCEPTED);
-        Application application = applicationRepository.save(ApplicationMapper.mapToApplication(applicationDto));
-        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(application, null);
-        eventRepository.save(event);
-        return ApplicationMapper.mapToApplicationDto(application);
+    @CacheEvict(cacheNames = CacheConfig.APPLICATIONS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ApplicationDto transition(String id, ApplicationAction action, String cause) throws InvalidStatusException {
+        return transition(id, action, cause, null);
     }
 
+    /**
+     * Runs through the {@link TransactionRetryPolicy}, one transaction per attempt. Without an expected version a
+     * lost race is retried; with one it is reported as {@link ApplicationVersionMismatchException}.
+     */
     @Override
-    public ApplicationDto publish(ApplicationDto applicationDto) throws InvalidStatusException {
-        if (applicationDto.getStatus() != ApplicationStatus.ACCEPTED) {
-            throw new InvalidStatusException("Invalid application status:" + applicationDto.getStatus().toString());
+    @CacheEvict(cacheNames = CacheConfig.APPLICATIONS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ApplicationDto transition(String id, ApplicationAction action, String cause, Long expectedVersion) throws InvalidStatusException {
+        if (!action.changesStatus()) {
+            throw new IllegalArgumentException(action + " is not a status transition");
+        }
+        if (action.isCauseRequired() && (cause == null || cause.isBlank())) {
+            throw new InvalidRequestException("Cause is required");
         }
-        applicationDto.setStatus(ApplicationStatus.PUBLISHED);
-        Application application = applicationRepository.save(ApplicationMapper.mapToApplication(applicationDto));
-        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(application, null);
+        return retryPolicy.execute(() -> {
+            // single conditional UPDATE: two concurrent callers cannot both pass the status check
+            if (applicationRepository.updateStatus(id, action.getSourceStatuses(), action.getTargetStatus(), expectedVersion) == 0) {
+                return rejectChange(id, action, expectedVersion);
+            }
+            return recordChange(id, cause, true);
+        });
+    }
 
-        eventRepository.save(event);
-        return ApplicationMapper.mapToApplicationDto(application);
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.APPLICATIONS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ApplicationDto edit(String id, String content) throws InvalidStatusException {
+        return edit(id, content, null);
     }
 
     @Override
-    public ApplicationDto edit(ApplicationDto applicationDto, String content) throws InvalidStatusException{
-        if (applicationDto.getStatus() != ApplicationStatus.VERIFIED
-                && applicationDto.getStatus() != ApplicationStatus.CREATED){
-            throw new InvalidStatusException("Invalid application status:" + applicationDto.getStatus().toString());
-        }
+    @CacheEvict(cacheNames = CacheConfig.APPLICATIONS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ApplicationDto edit(String id, String content, Long expectedVersion) throws InvalidStatusException {
         if (content == null || content.isBlank()) {
-            throw new IllegalArgumentException("Content is required");
+            throw new InvalidRequestException("Content is required");
         }
-        applicationDto.setContent(content);
-        Application application = applicationRepository.save(ApplicationMapper.mapToApplication(applicationDto));
-        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(application, null);
-        eventRepository.save(event);
+        String contentHash = ApplicationContentStore.hashOf(content);
+        return retryPolicy.execute(() -> {
+            if (applicationRepository.updateContent(id, ApplicationAction.EDIT.getSourceStatuses(), content, contentHash, expectedVersion) == 0) {
+                return rejectChange(id, ApplicationAction.EDIT, expectedVersion);
+            }
+            contentStore.storeIfAbsent(contentHash, content);
+            return recordChange(id, null, false);
+        });
+    }
+
+    private ApplicationDto recordChange(String id, String cause, boolean statusChanged) {
+        Application application = applicationRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Application disappeared during update"));
+        if (statusChanged) {
+            statusCounters.recordTransition(application.getPreviousStatus(), application.getStatus());
+        }
+        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(idGenerator.next(), application, cause);
+        if (event.getContentHash() == null) {
+            // row written before content hashing, its content gets stored on the first change
+            event.setContentHash(ApplicationContentStore.hashOf(application.getContent()));
+            contentStore.storeIfAbsent(event.getContentHash(), application.getContent());
+            applicationRepository.backfillContentHash(id, event.getContentHash());
+        }
+        eventJournal.append(event);
         return ApplicationMapper.mapToApplicationDto(application);
     }
 
-}
+    /**
+     * Called when the conditional update matched no row; reads the status back to tell "not found" from
+     * "invalid status". If the status does allow the action, the row changed in between: a version mismatch when
+     * the caller expected a version, otherwise a lost race that is safe to retry.
+     *
+     * @return {@code null} if the application does not exist
+     */
+    private ApplicationDto rejectChange(String id, ApplicationAction action, Long expectedVersion) throws InvalidStatusException {
+        ApplicationStatus status = applicationRepository.findStatusById(id);
+        if (status == null) {
+            return null;
+        }
+        if (!action.isAllowedFrom(status)) {
+            throw InvalidStatusException.of(status, action);
+        }
+        if (expectedVersion != null) {
+            throw new ApplicationVersionMismatchException(id, expectedVersion);
+        }
+        throw new OptimisticLockingFailureException("Application " + id + " changed concurrently");
+    }
+
+    private static Instant parseTimestamp(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    private static UUID parseEventId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    static String decodeAfterId(String cursor) {
+        return cursor == null ? "" : PageCursorMapper.decode(cursor, 1)[0];
+    }
 
+    // one extra row tells whether there is a next page without a count query
+    private static Pageable pageLimit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    static <T> ApplicationPage<T> toPage(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> items = hasNext ? rows.subList(0, pageSize) : rows;
+        return ApplicationPage.<T>builder()
+                .items(items)
+                .nextCursor(hasNext ? cursorOf.apply(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new InvalidRequestException("Page size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+}
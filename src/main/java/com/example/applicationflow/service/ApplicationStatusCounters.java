@@ -0,0 +1,219 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationStatusCount;
+import com.example.applicationflow.repository.ApplicationRepository;
+import com.example.applicationflow.repository.ApplicationStatusCountRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Number of applications per status, readable without touching the applications table.
+ * <p>
+ * Every committed change adds to a per-status {@link LongAdder}, so concurrent writers do not contend on a shared
+ * counter. The local deltas are periodically flushed into the {@code application_status_counts} table with relative
+ * updates, which also picks up what other instances flushed. A read is the last loaded table row plus the local
+ * deltas not yet flushed: changes made on other instances show up after their next flush.
+ * <p>
+ * Rows written without going through the counters (SQL scripts, manual fixes) and changes of other instances racing
+ * a reconcile make the counts drift; {@link #reconcile()} periodically recounts the table to correct that.
+ */
+@Slf4j
+@Component
+public class ApplicationStatusCounters {
+
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationStatusCountRepository countRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ApplicationStatus, LongAdder> pending = new EnumMap<>(ApplicationStatus.class);
+    /**
+     * Deltas taken from {@link #pending} by a flush that has not reloaded {@link #totals} yet.
+     */
+    private final Map<ApplicationStatus, Long> flushing = new EnumMap<>(ApplicationStatus.class);
+    private final Map<ApplicationStatus, Long> totals = new EnumMap<>(ApplicationStatus.class);
+    // moving deltas between the maps happens under the write lock, so a read never sees them twice or not at all
+    private final StampedLock lock = new StampedLock();
+
+    public ApplicationStatusCounters(ApplicationRepository applicationRepository,
+                                     ApplicationStatusCountRepository countRepository,
+                                     TransactionTemplate transactionTemplate) {
+        this.applicationRepository = applicationRepository;
+        this.countRepository = countRepository;
+        this.transactionTemplate = transactionTemplate;
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            pending.put(status, new LongAdder());
+            flushing.put(status, 0L);
+            totals.put(status, 0L);
+        }
+    }
+
+    /**
+     * Counts the table once if the counts were never initialized, e.g. on the first start after an upgrade.
+     */
+    @PostConstruct
+    void start() {
+        if (countRepository.count() < ApplicationStatus.values().length) {
+            reconcile();
+        } else {
+            applyTotals(loadTotals());
+        }
+    }
+
+    public void recordCreated(long count) {
+        record(null, ApplicationStatus.CREATED, count);
+    }
+
+    public void recordTransition(ApplicationStatus from, ApplicationStatus to) {
+        record(from, to, 1);
+    }
+
+    /**
+     * Counts {@code count} applications moving from {@code from} ({@code null} for new ones) to {@code to}. Inside a
+     * transaction the change is counted on commit, so rolled back changes are never counted.
+     */
+    public void record(ApplicationStatus from, ApplicationStatus to, long count) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(from, to, count);
+                }
+            });
+        } else {
+            add(from, to, count);
+        }
+    }
+
+    public Map<ApplicationStatus, Long> getCounts() {
+        long stamp = lock.tryOptimisticRead();
+        Map<ApplicationStatus, Long> counts = readCounts();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                counts = readCounts();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${applicationflow.stats.flush-interval:1000}")
+    public synchronized void flush() {
+        Map<ApplicationStatus, Long> deltas = takePending();
+        try {
+            Map<ApplicationStatus, Long> loaded = transactionTemplate.execute(status -> {
+                deltas.forEach((applicationStatus, delta) -> {
+                    if (delta != 0) {
+                        countRepository.addToTotal(applicationStatus, delta);
+                    }
+                });
+                return loadTotals();
+            });
+            applyTotals(loaded);
+        } catch (RuntimeException e) {
+            restorePending();
+            log.warn("Could not flush application status counts, retrying on the next flush", e);
+        }
+    }
+
+    /**
+     * Replaces the stored counts with a full count of the applications table. The only place that scans it.
+     * <p>
+     * The deltas recorded up to the start of the count are for changes committed before it, which the count sees, so
+     * they are discarded; the ones recorded from then on stay pending for the next flush. The deltas are taken in
+     * the transaction, right before the count statement, so only a change whose commit and after-commit callback
+     * straddle the start of the count is counted twice, until the next reconcile.
+     */
+    @Scheduled(initialDelayString = "${applicationflow.stats.reconcile-interval:600000}",
+            fixedDelayString = "${applicationflow.stats.reconcile-interval:600000}")
+    public synchronized void reconcile() {
+        try {
+            Map<ApplicationStatus, Long> counted = transactionTemplate.execute(status -> {
+                takePending();
+                Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+                for (ApplicationStatus applicationStatus : ApplicationStatus.values()) {
+                    counts.put(applicationStatus, 0L);
+                }
+                for (ApplicationStatusCount count : applicationRepository.countByStatus()) {
+                    counts.put(count.getStatus(), count.getTotal());
+                }
+                counts.forEach((applicationStatus, total) -> countRepository.save(new ApplicationStatusCount(applicationStatus, total)));
+                return counts;
+            });
+            applyTotals(counted);
+            log.debug("Reconciled application status counts: {}", counted);
+        } catch (RuntimeException e) {
+            restorePending();
+            log.warn("Could not reconcile application status counts", e);
+        }
+    }
+
+    private void add(ApplicationStatus from, ApplicationStatus to, long count) {
+        if (from != null) {
+            pending.get(from).add(-count);
+        }
+        pending.get(to).add(count);
+    }
+
+    private Map<ApplicationStatus, Long> readCounts() {
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            counts.put(status, totals.get(status) + flushing.get(status) + pending.get(status).sum());
+        }
+        return counts;
+    }
+
+    private Map<ApplicationStatus, Long> takePending() {
+        long stamp = lock.writeLock();
+        try {
+            for (ApplicationStatus status : ApplicationStatus.values()) {
+                flushing.merge(status, pending.get(status).sumThenReset(), Long::sum);
+            }
+            return new EnumMap<>(flushing);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void restorePending() {
+        long stamp = lock.writeLock();
+        try {
+            flushing.replaceAll((status, delta) -> {
+                pending.get(status).add(delta);
+                return 0L;
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void applyTotals(Map<ApplicationStatus, Long> loaded) {
+        long stamp = lock.writeLock();
+        try {
+            totals.putAll(loaded);
+            flushing.replaceAll((status, delta) -> 0L);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Map<ApplicationStatus, Long> loadTotals() {
+        Map<ApplicationStatus, Long> loaded = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatusCount count : countRepository.findAll()) {
+            loaded.put(count.getStatus(), count.getTotal());
+        }
+        return loaded;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.config.CacheConfig;
+import com.example.applicationflow.exception.InvalidRequestException;
+import com.example.applicationflow.mapper.ApplicationChangeEventMapper;
+import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationChangeEvent;
+import com.example.applicationflow.model.ApplicationTransitionRequest;
+import com.example.applicationflow.model.ApplicationTransitionResult;
+import com.example.applicationflow.model.TransitionOutcome;
+import com.example.applicationflow.repository.ApplicationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many status transitions per request. Items are processed in chunks, one transaction each: the chunk's
+ * rows are loaded under a row lock, checked against the transition table in memory, and changed with one
+ * set-based UPDATE per action. Events go through the {@link ApplicationEventJournal}, so with the synchronous
+ * journal they are written as JDBC batches at commit.
+ */
+@Slf4j
+@Service
+public class BulkTransitionService {
+
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationEventJournal eventJournal;
+    private final ApplicationContentStore contentStore;
+    private final IdGenerator idGenerator;
+    private final ApplicationStatusCounters statusCounters;
+    private final TransactionRetryPolicy retryPolicy;
+    private final Cache cache;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BulkTransitionService(ApplicationRepository applicationRepository,
+                                 ApplicationEventJournal eventJournal,
+                                 ApplicationContentStore contentStore,
+                                 IdGenerator idGenerator,
+                                 ApplicationStatusCounters statusCounters,
+                                 TransactionRetryPolicy retryPolicy,
+                                 CacheManager cacheManager,
+                                 @Value("${applicationflow.bulk.chunk-size:500}") int chunkSize,
+                                 @Value("${applicationflow.bulk.max-items:10000}") int maxItems) {
+        this.applicationRepository = applicationRepository;
+        this.eventJournal = eventJournal;
+        this.contentStore = contentStore;
+        this.idGenerator = idGenerator;
+        this.statusCounters = statusCounters;
+        this.retryPolicy = retryPolicy;
+        this.cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Chunks commit independently, each through the {@link TransactionRetryPolicy}. A chunk that still fails is
+     * reported item by item as {@link TransitionOutcome#FAILED}, and the following chunks are still applied. Results
+     * are returned in request order; an id listed twice is applied in order, the second time in a later chunk.
+     */
+    public List<ApplicationTransitionResult> transitionAll(List<ApplicationTransitionRequest> requests) {
+        if (requests.size() > maxItems) {
+            throw new InvalidRequestException("At most " + maxItems + " transitions per request");
+        }
+        List<ApplicationTransitionResult> results = new ArrayList<>(requests.size());
+        List<ApplicationTransitionRequest> chunk = new ArrayList<>(Math.min(chunkSize, requests.size()));
+        Set<String> chunkIds = new HashSet<>();
+        for (ApplicationTransitionRequest request : requests) {
+            if (chunk.size() == chunkSize || (request.getId() != null && chunkIds.contains(request.getId()))) {
+                results.addAll(applyChunk(chunk));
+                chunk.clear();
+                chunkIds.clear();
+            }
+            chunk.add(request);
+            if (request.getId() != null) {
+                chunkIds.add(request.getId());
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(applyChunk(chunk));
+        }
+        return results;
+    }
+
+    private List<ApplicationTransitionResult> applyChunk(List<ApplicationTransitionRequest> chunk) {
+        try {
+            return retryPolicy.execute(() -> applyChunkOnce(chunk));
+        } catch (DataAccessException e) {
+            log.warn("Bulk transition chunk of {} items failed", chunk.size(), e);
+            return chunk.stream()
+                    .map(request -> ApplicationTransitionResult.builder()
+                            .id(request.getId())
+                            .action(request.getAction())
+                            .outcome(TransitionOutcome.FAILED)
+                            .build())
+                    .toList();
+        }
+    }
+
+    private List<ApplicationTransitionResult> applyChunkOnce(List<ApplicationTransitionRequest> chunk) {
+        List<String> ids = chunk.stream()
+                .filter(BulkTransitionService::isValid)
+                .map(ApplicationTransitionRequest::getId)
+                .toList();
+        Map<String, Application> applications = ids.isEmpty() ? Map.of() : applicationRepository.findAllByIdForUpdate(ids)
+                .stream()
+                .collect(Collectors.toMap(Application::getId, Function.identity()));
+
+        Map<ApplicationAction, List<String>> accepted = new EnumMap<>(ApplicationAction.class);
+        List<ApplicationTransitionResult> results = new ArrayList<>(chunk.size());
+        for (ApplicationTransitionRequest request : chunk) {
+            results.add(check(request, applications.get(request.getId()), accepted));
+        }
+        accepted.forEach((action, acceptedIds) -> {
+            applicationRepository.updateStatuses(acceptedIds, action.getSourceStatuses(), action.getTargetStatus());
+            acceptedIds.forEach(cache::evict);
+        });
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results.get(i).getOutcome() == TransitionOutcome.SUCCESS) {
+                recordChange(applications.get(chunk.get(i).getId()), chunk.get(i));
+            }
+        }
+        return results;
+    }
+
+    private static ApplicationTransitionResult check(ApplicationTransitionRequest request, Application application,
+                                                     Map<ApplicationAction, List<String>> accepted) {
+        ApplicationTransitionResult.ApplicationTransitionResultBuilder result = ApplicationTransitionResult.builder()
+                .id(request.getId())
+                .action(request.getAction());
+        if (!isValid(request)) {
+            return result.outcome(TransitionOutcome.INVALID_REQUEST).build();
+        }
+        if (application == null) {
+            return result.outcome(TransitionOutcome.NOT_FOUND).build();
+        }
+        ApplicationAction action = request.getAction();
+        if (!action.isAllowedFrom(application.getStatus())) {
+            return result.outcome(TransitionOutcome.INVALID_STATUS)
+                    .status(application.getStatus())
+                    .version(application.getVersion())
+                    .build();
+        }
+        accepted.computeIfAbsent(action, key -> new ArrayList<>()).add(application.getId());
+        return result.outcome(TransitionOutcome.SUCCESS)
+                .status(action.getTargetStatus())
+                .version(application.getVersion() + 1)
+                .build();
+    }
+
+    private void recordChange(Application application, ApplicationTransitionRequest request) {
+        statusCounters.recordTransition(application.getStatus(), request.getAction().getTargetStatus());
+        // the set-based update cleared the persistence context, the entity is detached and safe to modify
+        application.setStatus(request.getAction().getTargetStatus());
+        if (application.getContentHash() == null) {
+            application.setContentHash(ApplicationContentStore.hashOf(application.getContent()));
+            contentStore.storeIfAbsent(application.getContentHash(), application.getContent());
+            applicationRepository.backfillContentHash(application.getId(), application.getContentHash());
+        }
+        ApplicationChangeEvent event = ApplicationChangeEventMapper.mapToApplicationEvent(idGenerator.next(), application, request.getCause());
+        eventJournal.append(event);
+    }
+
+    private static boolean isValid(ApplicationTransitionRequest request) {
+        ApplicationAction action = request.getAction();
+        return request.getId() != null
+                && action != null
+                && action.changesStatus()
+                && (!action.isCauseRequired() || (request.getCause() != null && !request.getCause().isBlank()));
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.config.CacheConfig;
+import com.example.applicationflow.model.ApplicationChangeNotice;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the local {@link CacheConfig#APPLICATIONS} cache coherent with changes made by other instances. Polls the
+ * events table for rows past the last seen sequence number and evicts the affected ids.
+ * <p>
+ * Sequence numbers are assigned on insert but become visible on commit, so a lower number can show up after a
+ * higher one. Skipped numbers are remembered as gaps and re-queried until they appear or {@code gap-timeout}
+ * passes; a change missed that way is still bounded by the cache TTL. Staleness is published as
+ * {@code applicationflow.cache.coherence.staleness} (event timestamp to local eviction, so it includes clock skew
+ * between instances) and {@code applicationflow.cache.coherence.poll.age} (time since the last successful poll).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "applicationflow.cache.coherence.enabled", havingValue = "true")
+public class CacheCoherenceTailer {
+
+    private final ApplicationChangeEventRepository eventRepository;
+    private final Cache cache;
+    private final int batchSize;
+    private final int maxGaps;
+    private final Duration gapTimeout;
+    private final Timer staleness;
+    private final Counter expiredGaps;
+    private final Map<Long, Instant> gaps = new TreeMap<>();
+    private long lastSequenceNumber;
+    private volatile Instant lastPoll = Instant.now();
+
+    public CacheCoherenceTailer(ApplicationChangeEventRepository eventRepository,
+                                CacheManager cacheManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${applicationflow.cache.coherence.batch-size:500}") int batchSize,
+                                @Value("${applicationflow.cache.coherence.max-gaps:1000}") int maxGaps,
+                                @Value("${applicationflow.cache.coherence.gap-timeout:10s}") Duration gapTimeout) {
+        this.eventRepository = eventRepository;
+        this.cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        this.batchSize = batchSize;
+        this.maxGaps = maxGaps;
+        this.gapTimeout = gapTimeout;
+        this.staleness = Timer.builder("applicationflow.cache.coherence.staleness")
+                .description("Time from a change event to its local cache eviction")
+                .register(meterRegistry);
+        this.expiredGaps = Counter.builder("applicationflow.cache.coherence.gaps.expired")
+                .description("Sequence numbers given up on, changes behind them are only bounded by the cache TTL")
+                .register(meterRegistry);
+        Gauge.builder("applicationflow.cache.coherence.poll.age", this, tailer -> Duration.between(tailer.lastPoll, Instant.now()).toMillis() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The local cache starts empty, so there is nothing to invalidate before the current end of the sequence.
+     */
+    @PostConstruct
+    void start() {
+        lastSequenceNumber = eventRepository.findMaxSequenceNumber();
+    }
+
+    @Scheduled(fixedDelayString = "${applicationflow.cache.coherence.poll-interval:500}")
+    public void poll() {
+        Instant now = Instant.now();
+        if (!gaps.isEmpty()) {
+            eventRepository.findChangesIn(List.copyOf(gaps.keySet())).forEach(notice -> {
+                gaps.remove(notice.getSequenceNumber());
+                evict(notice, now);
+            });
+            expireGaps(now);
+        }
+        List<ApplicationChangeNotice> notices;
+        do {
+            notices = eventRepository.findChangesAfter(lastSequenceNumber, PageRequest.of(0, batchSize));
+            notices.forEach(notice -> advance(notice, now));
+        } while (notices.size() == batchSize);
+        lastPoll = now;
+    }
+
+    long getLastSequenceNumber() {
+        return lastSequenceNumber;
+    }
+
+    int getGapCount() {
+        return gaps.size();
+    }
+
+    private void advance(ApplicationChangeNotice notice, Instant now) {
+        long sequenceNumber = notice.getSequenceNumber();
+        if (sequenceNumber - lastSequenceNumber - 1 > maxGaps - gaps.size()) {
+            // a jump this large is a sequence reset or cache skip rather than in-flight transactions
+            log.warn("Not tracking {} skipped event sequence numbers", sequenceNumber - lastSequenceNumber - 1);
+        } else {
+            for (long skipped = lastSequenceNumber + 1; skipped < sequenceNumber; skipped++) {
+                gaps.put(skipped, now);
+            }
+        }
+        lastSequenceNumber = sequenceNumber;
+        evict(notice, now);
+    }
+
+    private void evict(ApplicationChangeNotice notice, Instant now) {
+        cache.evict(notice.getApplicationId());
+        if (notice.getTimestamp() != null) {
+            staleness.record(Duration.between(notice.getTimestamp(), now));
+        }
+    }
+
+    private void expireGaps(Instant now) {
+        Iterator<Instant> detectedAt = gaps.values().iterator();
+        while (detectedAt.hasNext()) {
+            if (!detectedAt.next().plus(gapTimeout).isAfter(now)) {
+                detectedAt.remove();
+                expiredGaps.increment();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.IdempotencyRecord;
+import com.example.applicationflow.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps records in the {@code idempotency_keys} table, shared by all instances. The primary key makes the
+ * reservation atomic: of two concurrent requests with the same key only one insert succeeds. A reservation older
+ * than the lease is taken over with a conditional update, which again only one request wins. Records older than the
+ * TTL are purged periodically.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "applicationflow.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    // a reservation may be released between the failed insert and the read, the key is then tried again
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository recordRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${applicationflow.idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${applicationflow.idempotency.lease:1m}") Duration lease) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    @Override
+    public IdempotencyRecord reserve(String key, String fingerprint, String owner) {
+        for (int attempt = 1; ; attempt++) {
+            Instant now = Instant.now();
+            IdempotencyRecord reservation = IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .fingerprint(fingerprint)
+                    .owner(owner)
+                    .createdAt(now)
+                    .newEntity(true)
+                    .build();
+            try {
+                transactionTemplate.executeWithoutResult(status -> recordRepository.save(reservation));
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = transactionTemplate.execute(status -> recordRepository.findById(key).orElse(null));
+                if (existing != null && (existing.isCompleted() || !existing.getCreatedAt().isBefore(now.minus(lease)))) {
+                    return existing;
+                }
+                if (existing != null && takeOver(key, fingerprint, owner, now)) {
+                    log.debug("Took over abandoned idempotency key reservation");
+                    return null;
+                }
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean takeOver(String key, String fingerprint, String owner, Instant now) {
+        Integer updated = transactionTemplate.execute(status -> recordRepository.takeOver(key, fingerprint, owner, now, now.minus(lease)));
+        return updated != null && updated == 1;
+    }
+
+    @Override
+    public void complete(IdempotencyRecord record) {
+        Integer updated = transactionTemplate.execute(status -> recordRepository.complete(record.getIdempotencyKey(),
+                record.getOwner(), record.getStatus(), record.getContentType(), record.getEtag(), record.getBody()));
+        if (updated == null || updated == 0) {
+            log.debug("Idempotency key reservation was taken over, outcome not stored");
+        }
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        transactionTemplate.executeWithoutResult(status -> recordRepository.release(key, owner));
+    }
+
+    @Scheduled(fixedDelayString = "${applicationflow.idempotency.purge-interval:600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> recordRepository.deleteCreatedBefore(Instant.now().minus(ttl)));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+}
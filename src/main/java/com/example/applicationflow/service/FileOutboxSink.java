@@ -0,0 +1,44 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.OutboxMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends messages to a local file as one JSON line each, {@code {"offset":...,"event":{...}}}, and forces the batch to
+ * disk before it counts as delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "applicationflow.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    public FileOutboxSink(@Value("${applicationflow.outbox.file:outbox.ndjson}") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(OutboxSink.toNdjson(messages).getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to " + file, e);
+        }
+    }
+
+}
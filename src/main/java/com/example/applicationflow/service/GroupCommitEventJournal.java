@@ -0,0 +1,276 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.mapper.ApplicationChangeEventMapper;
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationChangeEvent;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind journal. Events are handed over after the caller's transaction commits and buffered in a bounded
+ * queue; a single writer thread drains whatever has accumulated and inserts it as JDBC batches in one transaction,
+ * so many events share one commit. The application change and its event are therefore no longer atomic: in every
+ * ack mode an event is lost if the process dies between the caller's commit and the commit of its group;
+ * {@code GROUP_COMMIT} only makes the caller wait for the group, it does not make the event durable any earlier.
+ * <p>
+ * The change is committed by the time the journal sees its event, so a journal failure never fails the caller. A
+ * group that cannot be written is parked and retried every {@code retry-interval} until it is, ahead of new events;
+ * events already written by an attempt whose outcome was unclear are not written twice. Parked events count against
+ * the buffer capacity, beyond which the oldest are dropped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "applicationflow.events.journal.enabled", havingValue = "true")
+public class GroupCommitEventJournal implements ApplicationEventJournal {
+
+    private final ApplicationChangeEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventOutbox eventOutbox;
+    private final ApplicationChangeFeed changeFeed;
+    private final JournalAckMode ackMode;
+    private final BlockingQueue<PendingEvent> buffer;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final Duration ackTimeout;
+    private final Duration retryInterval;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong parkedEvents = new AtomicLong();
+    // groups that failed to write, oldest first; only touched by the writer thread
+    private final Deque<List<ApplicationChangeEvent>> parked = new ArrayDeque<>();
+    private long nextRetryNanos;
+    private final Thread writer = new Thread(this::drainLoop, "event-journal-writer");
+    private volatile boolean running = true;
+
+    public GroupCommitEventJournal(ApplicationChangeEventRepository eventRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventOutbox eventOutbox,
+                                   ApplicationChangeFeed changeFeed,
+                                   @Value("${applicationflow.events.journal.ack-mode:GROUP_COMMIT}") JournalAckMode ackMode,
+                                   @Value("${applicationflow.events.journal.capacity:8192}") int capacity,
+                                   @Value("${applicationflow.events.journal.max-batch-size:500}") int maxBatchSize,
+                                   @Value("${applicationflow.events.journal.ack-timeout:5s}") Duration ackTimeout,
+                                   @Value("${applicationflow.events.journal.retry-interval:1s}") Duration retryInterval) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventOutbox = eventOutbox;
+        this.changeFeed = changeFeed;
+        this.ackMode = ackMode;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.ackTimeout = ackTimeout;
+        this.retryInterval = retryInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(ackTimeout.toMillis());
+        if (parkedEvents.get() > 0) {
+            log.error("Stopped with {} unwritten events in the event journal", parkedEvents.get());
+        }
+    }
+
+    @Override
+    public void append(ApplicationChangeEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public long getParkedEvents() {
+        return parkedEvents.get();
+    }
+
+    private void enqueue(ApplicationChangeEvent event) {
+        switch (ackMode) {
+            case FIRE_AND_FORGET -> {
+                if (!buffer.offer(new PendingEvent(event, null))) {
+                    drop(event, "Event journal full");
+                }
+            }
+            case IMMEDIATE -> put(new PendingEvent(event, null));
+            case GROUP_COMMIT -> {
+                CompletableFuture<Boolean> ack = new CompletableFuture<>();
+                if (put(new PendingEvent(event, ack))) {
+                    awaitCommit(event, ack);
+                }
+            }
+        }
+    }
+
+    private boolean put(PendingEvent pendingEvent) {
+        try {
+            buffer.put(pendingEvent);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop(pendingEvent.event(), "Interrupted while appending to the event journal");
+            return false;
+        }
+    }
+
+    private void drop(ApplicationChangeEvent event, String reason) {
+        droppedEvents.incrementAndGet();
+        log.error("{}, dropped event for application {}", reason, event.getApplicationId());
+    }
+
+    /**
+     * Waits for the group, but only reports a problem: the caller's change has already been committed.
+     */
+    private void awaitCommit(ApplicationChangeEvent event, CompletableFuture<Boolean> ack) {
+        try {
+            if (!ack.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Event for application {} is parked, its group could not be written", event.getApplicationId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Event journal did not confirm the event for application {} within {}", event.getApplicationId(), ackTimeout);
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingEvent> group = new ArrayList<>(maxBatchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                retryParked();
+                PendingEvent first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                buffer.drainTo(group, maxBatchSize - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+        retryParked();
+    }
+
+    private void commit(List<PendingEvent> group) {
+        List<ApplicationChangeEvent> events = group.stream().map(PendingEvent::event).toList();
+        boolean written = write(events, false);
+        if (!written) {
+            park(events);
+        }
+        group.forEach(pendingEvent -> pendingEvent.complete(written));
+    }
+
+    private void retryParked() {
+        if (parked.isEmpty() || System.nanoTime() - nextRetryNanos < 0) {
+            return;
+        }
+        while (!parked.isEmpty()) {
+            List<ApplicationChangeEvent> events = parked.peekFirst();
+            if (!write(events, true)) {
+                nextRetryNanos = System.nanoTime() + retryInterval.toNanos();
+                return;
+            }
+            parked.removeFirst();
+            parkedEvents.addAndGet(-events.size());
+        }
+    }
+
+    private void park(List<ApplicationChangeEvent> events) {
+        parked.addLast(events);
+        parkedEvents.addAndGet(events.size());
+        nextRetryNanos = System.nanoTime() + retryInterval.toNanos();
+        while (parkedEvents.get() > capacity && parked.size() > 1) {
+            List<ApplicationChangeEvent> oldest = parked.removeFirst();
+            parkedEvents.addAndGet(-oldest.size());
+            droppedEvents.addAndGet(oldest.size());
+            log.error("Event journal retry backlog full, dropped a group of {} events", oldest.size());
+        }
+    }
+
+    /**
+     * @param retry whether an earlier attempt may have committed part of the events before failing
+     * @return whether the events are written
+     */
+    private boolean write(List<ApplicationChangeEvent> events, boolean retry) {
+        List<ApplicationChange> changes;
+        try {
+            changes = transactionTemplate.execute(status -> {
+                List<ApplicationChangeEvent> unwritten = retry ? unwritten(events) : events;
+                List<ApplicationChange> groupChanges = unwritten.stream()
+                        .map(ApplicationChangeEventMapper::mapToApplicationChange)
+                        .toList();
+                eventRepository.saveAll(unwritten);
+                eventOutbox.add(groupChanges);
+                return groupChanges;
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to write a group of {} events, parked for retry", events.size(), e);
+            return false;
+        }
+        changeFeed.publish(changes);
+        return true;
+    }
+
+    private List<ApplicationChangeEvent> unwritten(List<ApplicationChangeEvent> events) {
+        Set<UUID> written = eventRepository.findAllById(events.stream().map(ApplicationChangeEvent::getEventId).toList())
+                .stream()
+                .map(ApplicationChangeEvent::getEventId)
+                .collect(Collectors.toSet());
+        List<ApplicationChangeEvent> unwritten = events.stream().filter(event -> !written.contains(event.getEventId())).toList();
+        // a rolled back persist may have marked them as stored
+        unwritten.forEach(event -> event.setNewEntity(true));
+        return unwritten;
+    }
+
+    private record PendingEvent(ApplicationChangeEvent event, CompletableFuture<Boolean> ack) {
+
+        void complete(boolean written) {
+            if (ack != null) {
+                ack.complete(written);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.OutboxMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as {@code application/x-ndjson}, one {@code {"offset":...,"event":{...}}} line per message; any
+ * non-2xx answer fails the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "applicationflow.outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final HttpClient httpClient;
+    private final URI url;
+    private final Duration timeout;
+
+    public HttpOutboxSink(@Value("${applicationflow.outbox.http.url}") URI url,
+                          @Value("${applicationflow.outbox.http.timeout:10s}") Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.url = url;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(OutboxSink.toNdjson(messages)))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deliver to " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while delivering to " + url, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Delivery to " + url + " failed with status " + response.statusCode());
+        }
+    }
+
+}
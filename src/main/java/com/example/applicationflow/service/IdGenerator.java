@@ -0,0 +1,12 @@
+package com.example.applicationflow.service;
+
+import java.util.UUID;
+
+/**
+ * Source of application and event ids, selected with {@code applicationflow.ids.generator}.
+ */
+public interface IdGenerator {
+
+    UUID next();
+
+}
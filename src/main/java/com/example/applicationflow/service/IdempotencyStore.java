@@ -0,0 +1,34 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.IdempotencyRecord;
+
+/**
+ * Key to response mapping behind {@code Idempotency-Key} handling. Records are kept for a bounded time only, after
+ * which a key may be used again. A reservation left without an outcome for longer than the lease, because its
+ * instance died before completing or releasing it, is taken over by the next request with the key. A reservation
+ * is completed or released only by the request holding it, identified by its owner token, so a request whose
+ * reservation was taken over cannot overwrite or drop the new one.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserves the key for a request that is about to be processed.
+     *
+     * @param owner token unique to the request, passed again to {@link #complete} and {@link #release}
+     * @return {@code null} if the key was free, or only held by an expired reservation, and is now reserved,
+     * otherwise the record already stored for it
+     */
+    IdempotencyRecord reserve(String key, String fingerprint, String owner);
+
+    /**
+     * Stores the outcome of a reserved request, to be replayed for its retries. Ignored unless the record's owner
+     * still holds the reservation.
+     */
+    void complete(IdempotencyRecord record);
+
+    /**
+     * Drops a reservation whose request produced no outcome worth replaying, so a retry is processed again. Ignored
+     * unless {@code owner} still holds it.
+     */
+    void release(String key, String owner);
+}
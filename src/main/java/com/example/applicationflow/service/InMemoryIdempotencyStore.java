@@ -0,0 +1,63 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.IdempotencyRecord;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps records in a bounded, TTL-evicted local cache. Only retries reaching the same instance are deduplicated;
+ * use the database store behind a load balancer without session affinity.
+ */
+@Component
+@ConditionalOnProperty(name = "applicationflow.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotencyRecord> records;
+    private final Duration lease;
+
+    public InMemoryIdempotencyStore(@Value("${applicationflow.idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${applicationflow.idempotency.lease:1m}") Duration lease,
+                                    @Value("${applicationflow.idempotency.max-entries:100000}") long maxEntries) {
+        this.lease = lease;
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public IdempotencyRecord reserve(String key, String fingerprint, String owner) {
+        Instant now = Instant.now();
+        IdempotencyRecord reservation = IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .fingerprint(fingerprint)
+                .owner(owner)
+                .createdAt(now)
+                .build();
+        IdempotencyRecord current = records.asMap().compute(key, (k, existing) -> existing == null
+                || !existing.isCompleted() && existing.getCreatedAt().isBefore(now.minus(lease)) ? reservation : existing);
+        return current == reservation ? null : current;
+    }
+
+    @Override
+    public void complete(IdempotencyRecord record) {
+        records.asMap().computeIfPresent(record.getIdempotencyKey(),
+                (key, existing) -> holds(existing, record.getOwner()) ? record : existing);
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        records.asMap().computeIfPresent(key, (k, existing) -> holds(existing, owner) ? null : existing);
+    }
+
+    private static boolean holds(IdempotencyRecord record, String owner) {
+        return !record.isCompleted() && record.getOwner().equals(owner);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.applicationflow.service;
+
+/**
+ * When {@link GroupCommitEventJournal} reports an appended event back to the caller.
+ */
+public enum JournalAckMode {
+
+    /**
+     * As soon as the event is accepted into the buffer; blocks while the buffer is full.
+     */
+    IMMEDIATE,
+    /**
+     * Once the group containing the event has been committed.
+     */
+    GROUP_COMMIT,
+    /**
+     * Never waits; the event is dropped if the buffer is full.
+     */
+    FIRE_AND_FORGET
+
+}
@@ -0,0 +1,125 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.OutboxMessage;
+import com.example.applicationflow.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards {@code outbox} rows to the {@link OutboxSink}. Each of the {@code workers} threads repeatedly locks a
+ * batch of undelivered rows with {@code FOR UPDATE SKIP LOCKED}, delivers it and marks it delivered in the same
+ * transaction; a failed delivery rolls back and the batch is retried on the next poll. Workers on this and other
+ * instances claim disjoint batches, so throughput scales with workers, but with more than one worker the sink can
+ * receive batches out of offset order.
+ * <p>
+ * The relay runs on its own threads and only locks outbox rows, API requests never wait for it. Delivered rows are
+ * kept for {@code retention} and then deleted.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "applicationflow.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final Counter deliveredMessages;
+    private final Counter failedBatches;
+    private final ScheduledExecutorService scheduler;
+
+    public OutboxRelay(OutboxMessageRepository outboxRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${applicationflow.outbox.workers:2}") int workers,
+                       @Value("${applicationflow.outbox.batch-size:200}") int batchSize,
+                       @Value("${applicationflow.outbox.poll-interval:500ms}") Duration pollInterval,
+                       @Value("${applicationflow.outbox.retention:1d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.deliveredMessages = meterRegistry.counter("applicationflow.outbox.delivered");
+        this.failedBatches = meterRegistry.counter("applicationflow.outbox.failed");
+        this.scheduler = Executors.newScheduledThreadPool(workers + 1, new CustomizableThreadFactory("outbox-relay-"));
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workers; i++) {
+            scheduler.scheduleWithFixedDelay(this::relayPending, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(this::purgeDelivered, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Relays full batches back to back until the backlog is drained, then waits for the next poll.
+     */
+    void relayPending() {
+        try {
+            int delivered;
+            do {
+                delivered = relayBatch();
+            } while (delivered == batchSize && !scheduler.isShutdown());
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("Outbox delivery failed, retrying on the next poll", e);
+        }
+    }
+
+    /**
+     * @return number of messages delivered
+     */
+    int relayBatch() {
+        Integer delivered = transactionTemplate.execute(status -> {
+            List<OutboxMessage> messages = outboxRepository.lockPending(batchSize);
+            if (messages.isEmpty()) {
+                return 0;
+            }
+            sink.deliver(messages);
+            outboxRepository.markDelivered(messages.stream().map(OutboxMessage::getId).toList(), Instant.now());
+            return messages.size();
+        });
+        deliveredMessages.increment(delivered);
+        return delivered;
+    }
+
+    void purgeDelivered() {
+        try {
+            Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteDeliveredBefore(Instant.now().minus(retention)));
+            log.debug("Purged {} delivered outbox messages", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Could not purge delivered outbox messages", e);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination the {@link OutboxRelay} forwards change events to.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch in offset order. Must throw if any message was not accepted, the whole batch is then
+     * delivered again later, so consumers have to tolerate duplicates (by offset or event id).
+     */
+    void deliver(List<OutboxMessage> messages);
+
+    /**
+     * One {@code {"offset":...,"event":{...}}} line per message.
+     */
+    static String toNdjson(List<OutboxMessage> messages) {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessage message : messages) {
+            lines.append("{\"offset\":").append(message.getId())
+                    .append(",\"event\":").append(message.getPayload())
+                    .append("}\n");
+        }
+        return lines.toString();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.applicationflow.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Random version 4 UUIDs, the previous id scheme.
+ */
+@Component
+@ConditionalOnProperty(name = "applicationflow.ids.generator", havingValue = "random")
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+
+}
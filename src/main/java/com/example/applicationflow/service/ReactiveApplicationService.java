@@ -0,0 +1,33 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationPage;
+import com.example.applicationflow.model.ApplicationStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ApplicationService}, on R2DBC. Results and failures are the same as there;
+ * where {@link ApplicationService} returns {@code null} for an unknown application, the {@link Mono} is empty.
+ */
+public interface ReactiveApplicationService {
+
+    Mono<ApplicationDto> create(ApplicationDto applicationDto);
+
+    Mono<ApplicationDto> findApplicationById(String id);
+
+    Mono<ApplicationPage<ApplicationDto>> findApplications(ApplicationStatus status, String cursor, Integer size);
+
+    /**
+     * All applications in id order, read as the subscriber requests them.
+     */
+    Flux<ApplicationDto> exportApplications();
+
+    /**
+     * See {@link ApplicationService#transition(String, ApplicationAction, String, Long)}.
+     */
+    Mono<ApplicationDto> transition(String id, ApplicationAction action, String cause, Long expectedVersion);
+
+    Mono<ApplicationDto> edit(String id, String content, Long expectedVersion);
+}
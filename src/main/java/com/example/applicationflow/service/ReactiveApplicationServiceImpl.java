@@ -0,0 +1,263 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.exception.ApplicationVersionMismatchException;
+import com.example.applicationflow.exception.InvalidRequestException;
+import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.mapper.ApplicationRowMapper;
+import com.example.applicationflow.mapper.PageCursorMapper;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationChangeEventRow;
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationPage;
+import com.example.applicationflow.model.ApplicationRow;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.repository.ReactiveApplicationChangeEventRepository;
+import com.example.applicationflow.repository.ReactiveApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Every operation runs in one R2DBC transaction, so an application change, its event and its outbox message are
+ * committed together, as in {@link ApplicationServiceImpl}. Counters and the change feed are updated once the
+ * transaction has committed. Lost races (compare-and-set updates, content stored concurrently) are retried like
+ * {@link TransactionRetryPolicy} does, each attempt in a transaction of its own, without blocking a thread during
+ * the backoff.
+ * <p>
+ * The {@code applications} cache is not used: it is filled and evicted by the servlet stack only.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApplicationServiceImpl implements ReactiveApplicationService {
+
+    private static final String INSERT_CONTENT = "insert into contents (hash, data) select :hash, :data "
+            + "where not exists (select 1 from contents where hash = :hash)";
+    private static final String INSERT_MESSAGE = "insert into outbox (event_id, application_id, payload, created_at) "
+            + "values (:eventId, :applicationId, :payload, :createdAt)";
+
+    private final ReactiveApplicationRepository applicationRepository;
+    private final ReactiveApplicationChangeEventRepository eventRepository;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final IdGenerator idGenerator;
+    private final ApplicationEventOutbox eventOutbox;
+    private final ApplicationStatusCounters statusCounters;
+    private final ApplicationChangeFeed changeFeed;
+    private final RetryBackoffSpec retry;
+
+    public ReactiveApplicationServiceImpl(ReactiveApplicationRepository applicationRepository,
+                                          ReactiveApplicationChangeEventRepository eventRepository,
+                                          DatabaseClient databaseClient,
+                                          TransactionalOperator transactionalOperator,
+                                          IdGenerator idGenerator,
+                                          ApplicationEventOutbox eventOutbox,
+                                          ApplicationStatusCounters statusCounters,
+                                          ApplicationChangeFeed changeFeed,
+                                          @Value("${applicationflow.retry.max-attempts:3}") int maxAttempts,
+                                          @Value("${applicationflow.retry.backoff:20ms}") Duration backoff) {
+        this.applicationRepository = applicationRepository;
+        this.eventRepository = eventRepository;
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.idGenerator = idGenerator;
+        this.eventOutbox = eventOutbox;
+        this.statusCounters = statusCounters;
+        this.changeFeed = changeFeed;
+        this.retry = Retry.backoff(Math.max(0, maxAttempts - 1), backoff)
+                .filter(ConcurrencyFailureException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @Override
+    public Mono<ApplicationDto> create(ApplicationDto applicationDto) {
+        ApplicationRow application = ApplicationRowMapper.mapToApplicationRow(applicationDto);
+        application.setStatus(ApplicationStatus.CREATED);
+        application.setId(idGenerator.next().toString());
+        application.setVersion(0L);
+        application.setNewEntity(true);
+        if (application.getContent() != null) {
+            application.setContentHash(ApplicationContentStore.hashOf(application.getContent()));
+        }
+        return storeContentIfAbsent(application.getContentHash(), application.getContent())
+                .then(applicationRepository.save(application))
+                .flatMap(saved -> appendEvent(saved, null))
+                .as(transactionalOperator::transactional)
+                .retryWhen(retry)
+                .doOnNext(change -> {
+                    statusCounters.recordCreated(1);
+                    changeFeed.publish(change);
+                })
+                .thenReturn(ApplicationRowMapper.mapToApplicationDto(application));
+    }
+
+    @Override
+    public Mono<ApplicationDto> findApplicationById(String id) {
+        return applicationRepository.findById(id).map(ApplicationRowMapper::mapToApplicationDto);
+    }
+
+    @Override
+    public Mono<ApplicationPage<ApplicationDto>> findApplications(ApplicationStatus status, String cursor, Integer size) {
+        int pageSize;
+        String afterId;
+        try {
+            pageSize = ApplicationServiceImpl.resolvePageSize(size);
+            afterId = ApplicationServiceImpl.decodeAfterId(cursor);
+        } catch (InvalidRequestException e) {
+            return Mono.error(e);
+        }
+        // one extra row tells whether there is a next page, as in ApplicationServiceImpl
+        return (status == null
+                ? applicationRepository.findPage(afterId, pageSize + 1)
+                : applicationRepository.findPageByStatus(status.name(), afterId, pageSize + 1))
+                .map(ApplicationRowMapper::mapToApplicationDto)
+                .collectList()
+                .map(applications -> ApplicationServiceImpl.toPage(applications, pageSize,
+                        application -> PageCursorMapper.encode(application.getId())));
+    }
+
+    @Override
+    public Flux<ApplicationDto> exportApplications() {
+        return applicationRepository.streamAll().map(ApplicationRowMapper::mapToApplicationDto);
+    }
+
+    @Override
+    public Mono<ApplicationDto> transition(String id, ApplicationAction action, String cause, Long expectedVersion) {
+        if (!action.changesStatus()) {
+            return Mono.error(new IllegalArgumentException(action + " is not a status transition"));
+        }
+        if (action.isCauseRequired() && (cause == null || cause.isBlank())) {
+            return Mono.error(new InvalidRequestException("Cause is required"));
+        }
+        Collection<String> from = namesOf(action.getSourceStatuses());
+        String to = action.getTargetStatus().name();
+        return Mono.defer(() -> (expectedVersion == null
+                        ? applicationRepository.updateStatus(id, from, to)
+                        : applicationRepository.updateStatusAtVersion(id, from, to, expectedVersion))
+                        .flatMap(updated -> updated == 0
+                                ? rejectChange(id, action, expectedVersion)
+                                : recordChange(id, cause))
+                        .as(transactionalOperator::transactional))
+                .retryWhen(retry)
+                .doOnNext(changed -> {
+                    statusCounters.recordTransition(changed.application().getPreviousStatus(), changed.application().getStatus());
+                    changeFeed.publish(changed.change());
+                })
+                .map(changed -> ApplicationRowMapper.mapToApplicationDto(changed.application()));
+    }
+
+    @Override
+    public Mono<ApplicationDto> edit(String id, String content, Long expectedVersion) {
+        if (content == null || content.isBlank()) {
+            return Mono.error(new InvalidRequestException("Content is required"));
+        }
+        String contentHash = ApplicationContentStore.hashOf(content);
+        Collection<String> from = namesOf(ApplicationAction.EDIT.getSourceStatuses());
+        return Mono.defer(() -> (expectedVersion == null
+                        ? applicationRepository.updateContent(id, from, content, contentHash)
+                        : applicationRepository.updateContentAtVersion(id, from, content, contentHash, expectedVersion))
+                        .flatMap(updated -> updated == 0
+                                ? rejectChange(id, ApplicationAction.EDIT, expectedVersion)
+                                : storeContentIfAbsent(contentHash, content).then(recordChange(id, null)))
+                        .as(transactionalOperator::transactional))
+                .retryWhen(retry)
+                .doOnNext(changed -> changeFeed.publish(changed.change()))
+                .map(changed -> ApplicationRowMapper.mapToApplicationDto(changed.application()));
+    }
+
+    private Mono<Changed> recordChange(String id, String cause) {
+        return applicationRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Application disappeared during update")))
+                .flatMap(application -> {
+                    if (application.getContentHash() != null) {
+                        return Mono.just(application);
+                    }
+                    // row written before content hashing, its content gets stored on the first change
+                    application.setContentHash(ApplicationContentStore.hashOf(application.getContent()));
+                    return storeContentIfAbsent(application.getContentHash(), application.getContent())
+                            .then(applicationRepository.backfillContentHash(id, application.getContentHash()))
+                            .thenReturn(application);
+                })
+                .flatMap(application -> appendEvent(application, cause)
+                        .map(change -> new Changed(application, change)));
+    }
+
+    /**
+     * See {@link ApplicationServiceImpl}: tells "not found" (empty), "invalid status", "version mismatch" and a
+     * lost race apart after a conditional update matched no row.
+     */
+    private Mono<Changed> rejectChange(String id, ApplicationAction action, Long expectedVersion) {
+        return applicationRepository.findStatusById(id)
+                .map(ApplicationStatus::valueOf)
+                .flatMap(status -> {
+                    if (!action.isAllowedFrom(status)) {
+                        return Mono.error(InvalidStatusException.of(status, action));
+                    }
+                    if (expectedVersion != null) {
+                        return Mono.error(new ApplicationVersionMismatchException(id, expectedVersion));
+                    }
+                    return Mono.error(new OptimisticLockingFailureException("Application " + id + " changed concurrently"));
+                });
+    }
+
+    private Mono<ApplicationChange> appendEvent(ApplicationRow application, String cause) {
+        ApplicationChangeEventRow event = ApplicationRowMapper.mapToApplicationEventRow(idGenerator.next(), application, cause);
+        ApplicationChange change = ApplicationRowMapper.mapToApplicationChange(event);
+        return eventRepository.save(event)
+                .then(addToOutbox(change))
+                .thenReturn(change);
+    }
+
+    private Mono<Void> addToOutbox(ApplicationChange change) {
+        if (!eventOutbox.isEnabled()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(INSERT_MESSAGE)
+                .bind("eventId", change.getEventId())
+                .bind("applicationId", change.getApplicationId())
+                .bind("payload", eventOutbox.toPayload(change))
+                .bind("createdAt", OffsetDateTime.now(ZoneOffset.UTC))
+                .then();
+    }
+
+    /**
+     * Reactive variant of {@link ApplicationContentStore#storeIfAbsent}, must run in the transaction that
+     * references the hash. Losing the insert to a concurrent transaction is a {@link ConcurrencyFailureException},
+     * retried like a lost status race.
+     */
+    private Mono<Void> storeContentIfAbsent(String hash, String content) {
+        if (hash == null) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(INSERT_CONTENT)
+                .bind("hash", hash)
+                .bind("data", ApplicationContentStore.compress(content.getBytes(StandardCharsets.UTF_8)))
+                .then()
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new ConcurrencyFailureException("Content " + hash + " stored concurrently", e));
+    }
+
+    private static Collection<String> namesOf(Collection<ApplicationStatus> statuses) {
+        return statuses.stream().map(ApplicationStatus::name).collect(Collectors.toList());
+    }
+
+    private record Changed(ApplicationRow application, ApplicationChange change) {
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.mapper.ApplicationChangeEventMapper;
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationChangeEvent;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Default journal: writes the event in the caller's transaction, so it is committed atomically with the change.
+ */
+@Component
+@ConditionalOnProperty(name = "applicationflow.events.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class SynchronousEventJournal implements ApplicationEventJournal {
+
+    private final ApplicationChangeEventRepository eventRepository;
+    private final ApplicationEventOutbox eventOutbox;
+    private final ApplicationChangeFeed changeFeed;
+
+    public SynchronousEventJournal(ApplicationChangeEventRepository eventRepository, ApplicationEventOutbox eventOutbox,
+                                   ApplicationChangeFeed changeFeed) {
+        this.eventRepository = eventRepository;
+        this.eventOutbox = eventOutbox;
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public void append(ApplicationChangeEvent event) {
+        eventRepository.save(event);
+        ApplicationChange change = ApplicationChangeEventMapper.mapToApplicationChange(event);
+        eventOutbox.add(List.of(change));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changeFeed.publish(change);
+                }
+            });
+        } else {
+            changeFeed.publish(change);
+        }
+    }
+
+}
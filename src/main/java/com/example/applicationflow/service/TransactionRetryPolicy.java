@@ -0,0 +1,68 @@
+package com.example.applicationflow.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and retries it, a bounded number of times with jittered backoff,
+ * when it fails with a {@link ConcurrencyFailureException} (lock timeout, deadlock, lost compare-and-set race).
+ * <p>
+ * Only work that is safe to repeat belongs here: each attempt is rolled back completely before the next one. Work
+ * that joins a caller's transaction runs exactly once, as a failed attempt cannot be undone separately from it.
+ */
+@Slf4j
+@Component
+public class TransactionRetryPolicy {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public TransactionRetryPolicy(PlatformTransactionManager transactionManager,
+                                  @Value("${applicationflow.retry.max-attempts:3}") int maxAttempts,
+                                  @Value("${applicationflow.retry.backoff:20ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Retrying after concurrent modification, attempt {}: {}", attempt, e.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long maxMillis = backoff.toMillis() * attempt;
+        if (maxMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.exception.ApplicationLeaseLostException;
+import com.example.applicationflow.exception.InvalidRequestException;
+import com.example.applicationflow.mapper.ApplicationMapper;
+import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationLease;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.repository.ApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hands out applications to reviewers as time-limited leases, so concurrent reviewers work on disjoint applications
+ * instead of racing for the same ones. A claim locks unleased rows with {@code FOR UPDATE SKIP LOCKED} and leases
+ * them in one short transaction; concurrent claims skip each other's rows rather than queue behind them. Expired
+ * leases are simply claimable again, there is no sweeper.
+ * <p>
+ * Leases are advisory: transitions do not check them, and every status change drops the lease.
+ */
+@Service
+@Transactional
+public class WorkQueueService {
+
+    private final ApplicationRepository applicationRepository;
+    private final Duration leaseDuration;
+    private final int maxClaim;
+
+    public WorkQueueService(ApplicationRepository applicationRepository,
+                            @Value("${applicationflow.work.lease-duration:5m}") Duration leaseDuration,
+                            @Value("${applicationflow.work.max-claim:100}") int maxClaim) {
+        this.applicationRepository = applicationRepository;
+        this.leaseDuration = leaseDuration;
+        this.maxClaim = maxClaim;
+    }
+
+    /**
+     * @return at most {@code limit} applications in {@code status}, leased to {@code owner}; fewer if not enough are
+     * free
+     */
+    public List<ApplicationLease> claim(ApplicationStatus status, String owner, int limit) {
+        validateOwner(owner);
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be positive");
+        }
+        Instant now = Instant.now();
+        List<Application> applications = applicationRepository.lockUnleased(status.name(), now, Math.min(limit, maxClaim));
+        if (applications.isEmpty()) {
+            return List.of();
+        }
+        Instant expiresAt = now.plus(leaseDuration);
+        applicationRepository.lease(applications.stream().map(Application::getId).toList(), owner, expiresAt);
+        return applications.stream()
+                .map(application -> ApplicationLease.builder()
+                        .application(ApplicationMapper.mapToApplicationDto(application))
+                        .owner(owner)
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * @return the new expiry, {@code null} if the application does not exist
+     */
+    public Instant renew(String id, String owner) {
+        validateOwner(owner);
+        Instant expiresAt = Instant.now().plus(leaseDuration);
+        if (applicationRepository.renewLease(id, owner, expiresAt) == 0) {
+            rejectLease(id, owner);
+            return null;
+        }
+        return expiresAt;
+    }
+
+    /**
+     * @return {@code false} if the application does not exist
+     */
+    public boolean release(String id, String owner) {
+        validateOwner(owner);
+        if (applicationRepository.releaseLease(id, owner) == 0) {
+            rejectLease(id, owner);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Called when a lease update matched no row; returns for an unknown application, throws for a lost lease.
+     */
+    private void rejectLease(String id, String owner) {
+        if (applicationRepository.findStatusById(id) != null) {
+            throw new ApplicationLeaseLostException(id, owner);
+        }
+    }
+
+    private static void validateOwner(String owner) {
+        if (owner == null || owner.isBlank() || owner.length() > 64) {
+            throw new InvalidRequestException("Worker must be 1 to 64 characters");
+        }
+    }
+
+}
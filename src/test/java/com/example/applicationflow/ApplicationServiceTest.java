@@ -2,24 +2,37 @@ package com.example.applicationflow;
 
 import com.example.applicationflow.exception.InvalidStatusException;
 import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationAction;
 import com.example.applicationflow.model.ApplicationDto;
 import com.example.applicationflow.model.ApplicationStatus;
 import com.example.applicationflow.repository.ApplicationChangeEventRepository;
 import com.example.applicationflow.repository.ApplicationRepository;
+import com.example.applicationflow.service.ApplicationContentStore;
+import com.example.applicationflow.service.ApplicationEventJournal;
 import com.example.applicationflow.service.ApplicationServiceImpl;
+import com.example.applicationflow.service.ApplicationStatusCounters;
+import com.example.applicationflow.service.IdGenerator;
+import com.example.applicationflow.service.TimeOrderedUuidGenerator;
+import com.example.applicationflow.service.TransactionRetryPolicy;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +46,16 @@ public class ApplicationServiceTest {
     private ApplicationRepository applicationRepository;
     @Mock
     private ApplicationChangeEventRepository eventRepository;
+    @Mock
+    private ApplicationEventJournal eventJournal;
+    @Mock
+    private ApplicationContentStore contentStore;
+    @Mock
+    private ApplicationStatusCounters statusCounters;
+    @Spy
+    private IdGenerator idGenerator = new TimeOrderedUuidGenerator();
+    @Spy
+    private TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(mock(PlatformTransactionManager.class), 3, Duration.ZERO);
 
     private final String testApp1Name = "testAppName1";
     private final String testApp1Content = "testAppContent1";
@@ -76,12 +99,13 @@ public class ApplicationServiceTest {
         assertEquals(savedApp.getStatus(), ApplicationStatus.CREATED);
         assertEquals(savedApp.getName(), testApp1Name);
         assertEquals(savedApp.getContent(), testApp1Content);
-        verify(eventRepository).save(
+        assertTrue(savedApp.isNew());
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.CREATED
                                 && a.getApplicationId().equals(savedApp.getId())
                                 && a.getName().equals(testApp1Name)
-                                && a.getContent().equals(testApp1Content)
+                                && a.getContentHash().equals(ApplicationContentStore.hashOf(testApp1Content))
                 )
 
         );
@@ -91,25 +115,21 @@ public class ApplicationServiceTest {
     @Test
     void shouldVerifySetsVerifiedStatusForApplicationInCreatedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.CREATED).name(testApp1Name).content(testApp1Content).build();
         Application app = Application.builder().id(appId).status(ApplicationStatus.VERIFIED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.VERIFIED
-                        )
-                )
-        ).thenReturn(app);
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.CREATED)), eq(ApplicationStatus.VERIFIED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.verify(appDto);
+        applicationService.transition(appId, ApplicationAction.VERIFY, null);
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.VERIFIED
                                 && a.getApplicationId().equals(appId)
                                 && a.getName().equals(testApp1Name)
-                                && a.getContent().equals(testApp1Content)
+                                && a.getContentHash().equals(ApplicationContentStore.hashOf(testApp1Content))
                 )
         );
     }
@@ -118,11 +138,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldVerifyThrowsStatusNotFoundException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED)
-                .name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.verify(appDto));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.VERIFY, null));
     }
 
     @DisplayName("findApplicationById() should return application by id")
@@ -148,21 +167,16 @@ public class ApplicationServiceTest {
     @Test
     void shouldDeleteApplicationSetsDeletedStatus() throws InvalidStatusException {
         // Given
-        Application app = Application.builder().id(appId).status(ApplicationStatus.CREATED).name(testApp1Name).content(testApp1Content).build();
-        Application appForSave = Application.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.DELETED
-                        )
-                )
-        ).thenReturn(appForSave);
+        Application app = Application.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.CREATED)), eq(ApplicationStatus.DELETED), isNull()))
+                .thenReturn(1);
         when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.delete(appId, "test cause");
+        applicationService.transition(appId, ApplicationAction.DELETE, "test cause");
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.DELETED
                                 && a.getApplicationId().equals(appId)
@@ -176,11 +190,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldDeleteThrowsStatusNotFoundException() {
         // Given
-        Application app = Application.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         //Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.delete(appId, "test cause"));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.DELETE, "test cause"));
     }
 
 
@@ -188,20 +201,16 @@ public class ApplicationServiceTest {
     @Test
     void shouldRejectSetsRejectedStatusForApplicationInCreatedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.VERIFIED).name(testApp1Name).content(testApp1Content).build();
         Application app = Application.builder().id(appId).status(ApplicationStatus.REJECTED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.REJECTED
-                        )
-                )
-        ).thenReturn(app);
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.VERIFIED)), eq(ApplicationStatus.REJECTED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.reject(appDto, "test cause");
+        applicationService.transition(appId, ApplicationAction.REJECT, "test cause");
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.REJECTED
                                 && a.getApplicationId().equals(appId)
@@ -214,10 +223,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldRejectThrowsStatusNotFoundException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.reject(appDto, "test cause"));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.REJECT, "test cause"));
     }
 
 
@@ -225,20 +234,16 @@ public class ApplicationServiceTest {
     @Test
     void shouldAcceptSetsAcceptedStatusForApplicationInCreatedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.VERIFIED).name(testApp1Name).content(testApp1Content).build();
         Application app = Application.builder().id(appId).status(ApplicationStatus.ACCEPTED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.ACCEPTED
-                        )
-                )
-        ).thenReturn(app);
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.VERIFIED)), eq(ApplicationStatus.ACCEPTED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.accept(appDto);
+        applicationService.transition(appId, ApplicationAction.ACCEPT, null);
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.ACCEPTED
                                 && a.getApplicationId().equals(appId)
@@ -252,10 +257,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldAcceptThrowsStatusNotFoundException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.accept(appDto));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.ACCEPT, null));
     }
 
 
@@ -263,10 +268,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldPublishThrowsStatusNotFoundException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.publish(appDto));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.PUBLISH, null));
     }
 
 
@@ -274,20 +279,16 @@ public class ApplicationServiceTest {
     @Test
     void shouldPublishSetsPublishedStatusForApplicationInPublishedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.ACCEPTED).name(testApp1Name).content(testApp1Content).build();
         Application app = Application.builder().id(appId).status(ApplicationStatus.PUBLISHED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.PUBLISHED
-                        )
-                )
-        ).thenReturn(app);
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.ACCEPTED)), eq(ApplicationStatus.PUBLISHED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.publish(appDto);
+        applicationService.transition(appId, ApplicationAction.PUBLISH, null);
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.PUBLISHED
                                 && a.getApplicationId().equals(appId)
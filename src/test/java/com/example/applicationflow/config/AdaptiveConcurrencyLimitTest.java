@@ -0,0 +1,139 @@
+package com.example.applicationflow.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @DisplayName("tryAcquire() should refuse permits beyond the limit until one is released")
+    @Test
+    void shouldRefuseWhenSaturated() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0, 0.5, clock::get);
+        AdaptiveConcurrencyLimit.Permit first = limit.tryAcquire();
+        limit.tryAcquire();
+
+        // When
+        AdaptiveConcurrencyLimit.Permit refused = limit.tryAcquire();
+        first.releaseWithoutSample();
+
+        // Then
+        assertNull(refused);
+        assertNotNull(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @DisplayName("release() should grow the limit while fully used requests stay fast")
+    @Test
+    void shouldGrowWhileFast() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, 2.0, 0.5, clock::get);
+
+        // When
+        for (int round = 0; round < 20; round++) {
+            List<AdaptiveConcurrencyLimit.Permit> permits = acquireAll(limit);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            permits.forEach(permit -> permit.release(false));
+        }
+
+        // Then
+        assertTrue(limit.getLimit() > 4, "limit " + limit.getLimit());
+        assertTrue(limit.getLimit() <= 10);
+    }
+
+    @DisplayName("release() should cut the limit once per round trip when latency rises above the tolerance")
+    @Test
+    void shouldBackOffOncePerRoundTripWhenSlow() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8, 2.0, 0.5, clock::get);
+        for (int round = 0; round < 30; round++) {
+            releaseAllAfter(limit, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // When
+        releaseAllAfter(limit, TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then
+        assertEquals(4, limit.getLimit());
+    }
+
+    @DisplayName("release() should keep the limit under a steady mix of fast and slow requests")
+    @Test
+    void shouldHoldLimitUnderBimodalLatency() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8, 2.0, 0.5, clock::get);
+
+        // When
+        for (int round = 0; round < 200; round++) {
+            List<AdaptiveConcurrencyLimit.Permit> permits = acquireAll(limit);
+            // cache hits next to database queries, three orders of magnitude apart
+            clock.addAndGet(TimeUnit.MICROSECONDS.toNanos(20));
+            permits.subList(0, permits.size() / 2).forEach(permit -> permit.release(false));
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+            permits.subList(permits.size() / 2, permits.size()).forEach(permit -> permit.release(false));
+        }
+
+        // Then
+        assertEquals(8, limit.getLimit());
+    }
+
+    @DisplayName("release() should not cut the limit for slow requests while it is mostly unused")
+    @Test
+    void shouldIgnoreLatencyWhileUnused() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8, 2.0, 0.5, clock::get);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire();
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(i < 10 ? 1 : 100));
+            permit.release(false);
+        }
+
+        // Then
+        assertEquals(8, limit.getLimit());
+    }
+
+    @DisplayName("release() should cut the limit for failed requests, but not below the minimum")
+    @Test
+    void shouldBackOffOnDropsDownToMinimum() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 3, 10, 2.0, 0.5, clock::get);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            clock.incrementAndGet();
+            AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire();
+            clock.incrementAndGet();
+            permit.release(true);
+        }
+
+        // Then
+        assertEquals(3, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private void releaseAllAfter(AdaptiveConcurrencyLimit limit, long latencyNanos) {
+        List<AdaptiveConcurrencyLimit.Permit> permits = acquireAll(limit);
+        clock.addAndGet(latencyNanos);
+        permits.forEach(permit -> permit.release(false));
+    }
+
+    private static List<AdaptiveConcurrencyLimit.Permit> acquireAll(AdaptiveConcurrencyLimit limit) {
+        List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+        for (AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire(); permit != null; permit = limit.tryAcquire()) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+}
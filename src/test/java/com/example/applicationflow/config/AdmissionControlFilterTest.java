@@ -0,0 +1,73 @@
+package com.example.applicationflow.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // one write at a time, reads have room
+        filter = new AdmissionControlFilter(10, 1, 10, 1, 1, 1, 2.0, 0.9, Duration.ofMillis(1500),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    @DisplayName("doFilter() should shed writes over the write limit with 503 and Retry-After, while reads pass")
+    @Test
+    void shouldShedWritesButAdmitReads() throws Exception {
+        // Given
+        MockHttpServletResponse nestedWrite = new MockHttpServletResponse();
+        MockHttpServletResponse nestedRead = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("POST", "/applications"), new MockHttpServletResponse(), (request, response) -> {
+            filter.doFilter(request("POST", "/verify-application/1"), nestedWrite, (r, s) -> {});
+            filter.doFilter(request("GET", "/applications/1"), nestedRead, (r, s) -> {});
+        });
+
+        // Then
+        assertEquals(503, nestedWrite.getStatus());
+        assertEquals("2", nestedWrite.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON_VALUE, nestedWrite.getContentType());
+        assertEquals(200, nestedRead.getStatus());
+        assertEquals(1.0, meterRegistry.get("applicationflow.admission.rejected").tag("class", "write").counter().count());
+    }
+
+    @DisplayName("doFilter() should admit the next write once the previous one completed, and never shed actuator calls")
+    @Test
+    void shouldAdmitAfterRelease() throws Exception {
+        // Given
+        filter.doFilter(request("POST", "/applications"), new MockHttpServletResponse(), (request, response) -> {});
+        MockHttpServletResponse nextWrite = new MockHttpServletResponse();
+        MockHttpServletResponse health = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("POST", "/applications"), nextWrite, (request, response) ->
+                filter.doFilter(request("POST", "/actuator/health"), health, (r, s) -> {}));
+
+        // Then
+        assertEquals(200, nextWrite.getStatus());
+        assertEquals(200, health.getStatus());
+        assertEquals(0, meterRegistry.get("applicationflow.admission.in-flight").tag("class", "write").gauge().value());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.example.applicationflow.config;
+
+import com.example.applicationflow.model.IdempotencyRecord;
+import com.example.applicationflow.service.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final AtomicInteger processed = new AtomicInteger();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(1), 100), new ObjectMapper());
+    }
+
+    @DisplayName("doFilter() should replay the stored response for a retry with the same key and body")
+    @Test
+    void shouldReplayStoredResponse() throws Exception {
+        // Given
+        filter.doFilter(request("key-1", "{\"name\":\"app\"}"), new MockHttpServletResponse(), respond(200, "{\"id\":\"1\"}"));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("key-1", "{\"name\":\"app\"}"), retry, respond(200, "{\"id\":\"2\"}"));
+
+        // Then
+        assertEquals(1, processed.get());
+        assertEquals(200, retry.getStatus());
+        assertEquals("{\"id\":\"1\"}", retry.getContentAsString());
+        assertEquals("\"0\"", retry.getHeader(HttpHeaders.ETAG));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    @DisplayName("doFilter() should reject a key reused for a different body with 422")
+    @Test
+    void shouldRejectDifferentBody() throws Exception {
+        // Given
+        filter.doFilter(request("key-1", "{\"name\":\"app\"}"), new MockHttpServletResponse(), respond(200, "{}"));
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("key-1", "{\"name\":\"other\"}"), reused, respond(200, "{}"));
+
+        // Then
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, processed.get());
+    }
+
+    @DisplayName("doFilter() should answer 409 for a retry while the first request is still processed")
+    @Test
+    void shouldRejectConcurrentRetry() throws Exception {
+        // Given
+        MockHttpServletResponse concurrent = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), (request, response) ->
+                filter.doFilter(request("key-1", "{}"), concurrent, respond(200, "{}")));
+
+        // Then
+        assertEquals(409, concurrent.getStatus());
+        assertEquals("1", concurrent.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(0, processed.get());
+    }
+
+    @DisplayName("doFilter() should take over a reservation left without an outcome past its lease")
+    @Test
+    void shouldTakeOverExpiredReservation() throws Exception {
+        // Given
+        IdempotencyFilter leasedFilter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMillis(1), 100), new ObjectMapper());
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+
+        // When
+        leasedFilter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), (request, response) -> {
+            LockSupport.parkNanos(Duration.ofMillis(5).toNanos());
+            leasedFilter.doFilter(request("key-1", "{}"), retry, respond(200, "{\"id\":\"1\"}"));
+        });
+
+        // Then
+        assertEquals(1, processed.get());
+        assertEquals(200, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    @DisplayName("doFilter() should not let a request whose reservation was taken over store its response")
+    @Test
+    void shouldIgnoreCompletionOfTakenOverRequest() throws Exception {
+        // Given
+        IdempotencyFilter leasedFilter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMillis(1), 100), new ObjectMapper());
+        leasedFilter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), (request, response) -> {
+            LockSupport.parkNanos(Duration.ofMillis(5).toNanos());
+            leasedFilter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), respond(200, "{\"id\":\"retry\"}"));
+            respond(200, "{\"id\":\"first\"}").doFilter(request, response);
+        });
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+
+        // When
+        leasedFilter.doFilter(request("key-1", "{}"), replayed, respond(200, "{\"id\":\"other\"}"));
+
+        // Then
+        assertEquals(2, processed.get());
+        assertEquals("{\"id\":\"retry\"}", replayed.getContentAsString());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    @DisplayName("doFilter() should not let a request whose reservation was taken over release the key")
+    @Test
+    void shouldIgnoreReleaseOfTakenOverRequest() throws Exception {
+        // Given
+        IdempotencyFilter leasedFilter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMillis(1), 100), new ObjectMapper());
+        leasedFilter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), (request, response) -> {
+            LockSupport.parkNanos(Duration.ofMillis(5).toNanos());
+            leasedFilter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), respond(200, "{\"id\":\"retry\"}"));
+            respond(500, "{}").doFilter(request, response);
+        });
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+
+        // When
+        leasedFilter.doFilter(request("key-1", "{}"), replayed, respond(200, "{\"id\":\"other\"}"));
+
+        // Then
+        assertEquals(2, processed.get());
+        assertEquals("{\"id\":\"retry\"}", replayed.getContentAsString());
+    }
+
+    @DisplayName("doFilter() should keep the key reserved when the successful response cannot be stored")
+    @Test
+    void shouldKeepReservationWhenCompleteFails() throws Exception {
+        // Given
+        IdempotencyFilter failingFilter = new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(1), 100) {
+            @Override
+            public void complete(IdempotencyRecord record) {
+                throw new IllegalStateException("store unavailable");
+            }
+        }, new ObjectMapper());
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+
+        // When
+        failingFilter.doFilter(request("key-1", "{}"), first, respond(200, "{\"id\":\"1\"}"));
+        failingFilter.doFilter(request("key-1", "{}"), retry, respond(200, "{\"id\":\"2\"}"));
+
+        // Then
+        assertEquals(1, processed.get());
+        assertEquals(200, first.getStatus());
+        assertEquals("{\"id\":\"1\"}", first.getContentAsString());
+        assertEquals(409, retry.getStatus());
+    }
+
+    @DisplayName("doFilter() should serve the cached body to a non-blocking reader")
+    @Test
+    void shouldNotifyReadListener() throws Exception {
+        // Given
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+
+        // When
+        filter.doFilter(request("key-1", "{\"name\":\"app\"}"), new MockHttpServletResponse(), (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        });
+
+        // Then
+        assertEquals("{\"name\":\"app\"}", read.toString(StandardCharsets.UTF_8));
+        assertEquals(1, allDataRead.get());
+    }
+
+    @DisplayName("doFilter() should not store failed responses, so a retry is processed again")
+    @Test
+    void shouldProcessRetryOfFailedRequest() throws Exception {
+        // Given
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), respond(409, "{}"));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("key-1", "{}"), retry, respond(200, "{\"id\":\"1\"}"));
+
+        // Then
+        assertEquals(2, processed.get());
+        assertEquals(200, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    private FilterChain respond(int status, String body) {
+        return (request, response) -> {
+            processed.incrementAndGet();
+            // the body must still be readable behind the filter
+            assertTrue(request.getInputStream().readAllBytes().length > 0);
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.setHeader(HttpHeaders.ETAG, "\"0\"");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/applications");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.example.applicationflow.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcConcurrencyLimiterTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+
+    @DisplayName("getConnection() should time out once all permits are held and release a permit on the first close only")
+    @Test
+    void shouldLimitConcurrentConnections() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenReturn(connection);
+        JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(dataSource, 1, Duration.ofMillis(10));
+        Connection first = limiter.getConnection();
+
+        // When
+        // Then
+        assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+        first.close();
+        first.close();
+        assertEquals(1, limiter.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @DisplayName("getConnection() should not take a permit for threads outside the limit")
+    @Test
+    void shouldNotLimitOtherThreads() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenReturn(connection);
+        JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(dataSource, 1, Duration.ofMillis(10), thread -> false);
+
+        // When
+        Connection first = limiter.getConnection();
+        Connection second = limiter.getConnection();
+
+        // Then
+        assertSame(connection, first);
+        assertSame(connection, second);
+        assertEquals(1, limiter.getAvailablePermits());
+    }
+
+    @DisplayName("getConnection() should give the permit back when the pool fails")
+    @Test
+    void shouldReleasePermitOnFailure() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(dataSource, 1, Duration.ofMillis(10));
+
+        // When
+        assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+
+        // Then
+        assertEquals(1, limiter.getAvailablePermits());
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.example.applicationflow.config;
+
+import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGuardedCacheTest {
+
+    private final LoadGuardedCache cache = new LoadGuardedCache(CacheConfig.APPLICATIONS, Caffeine.newBuilder().build(), false);
+
+    @DisplayName("get() should keep a load that no eviction raced")
+    @Test
+    void shouldKeepUncontendedLoad() {
+        // Given
+        ApplicationDto loaded = ApplicationDto.builder().id("1").status(ApplicationStatus.CREATED).version(0L).build();
+
+        // When
+        ApplicationDto result = cache.get("1", () -> loaded);
+
+        // Then
+        assertEquals(loaded, result);
+        assertEquals(loaded, cache.get("1", ApplicationDto.class));
+    }
+
+    @DisplayName("get() should drop a load that read the row before a transition committed and evicted it")
+    @Test
+    void shouldDropLoadInterleavedWithTransition() {
+        // Given
+        ApplicationDto stale = ApplicationDto.builder().id("1").status(ApplicationStatus.CREATED).version(0L).build();
+
+        // When
+        ApplicationDto result = cache.get("1", () -> {
+            CompletableFuture.runAsync(() -> cache.evict("1")).join();
+            return stale;
+        });
+
+        // Then
+        assertEquals(stale, result);
+        assertNull(cache.get("1"));
+        cache.get("1", () -> ApplicationDto.builder().id("1").status(ApplicationStatus.VERIFIED).version(1L).build());
+        assertEquals(ApplicationStatus.VERIFIED, cache.get("1", ApplicationDto.class).getStatus());
+    }
+
+    @DisplayName("get() should return a null load without caching it")
+    @Test
+    void shouldNotCacheNullLoad() {
+        // When
+        ApplicationDto result = cache.get("1", () -> null);
+
+        // Then
+        assertNull(result);
+        assertNull(cache.get("1"));
+    }
+
+    @DisplayName("get() should wrap a failed load and leave later loads guarded")
+    @Test
+    void shouldWrapFailedLoad() {
+        // Given
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        // When
+        Cache.ValueRetrievalException thrown = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("1", () -> {
+                    throw failure;
+                }));
+
+        // Then
+        assertSame(failure, thrown.getCause());
+        ApplicationDto loaded = ApplicationDto.builder().id("2").status(ApplicationStatus.CREATED).version(0L).build();
+        cache.get("2", () -> loaded);
+        assertEquals(loaded, cache.get("2", ApplicationDto.class));
+    }
+
+}
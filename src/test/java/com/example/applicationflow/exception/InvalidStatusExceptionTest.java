@@ -0,0 +1,26 @@
+package com.example.applicationflow.exception;
+
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class InvalidStatusExceptionTest {
+
+    @DisplayName("should reuse one stackless instance per status and action")
+    @Test
+    void shouldReusePreallocatedInstance() {
+        //when
+        InvalidStatusException exception = InvalidStatusException.of(ApplicationStatus.PUBLISHED, ApplicationAction.VERIFY);
+
+        //then
+        assertSame(exception, InvalidStatusException.of(ApplicationStatus.PUBLISHED, ApplicationAction.VERIFY));
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ApplicationStatus.PUBLISHED, exception.getApplicationStatus());
+        assertEquals(ApplicationAction.VERIFY, exception.getAction());
+    }
+
+}
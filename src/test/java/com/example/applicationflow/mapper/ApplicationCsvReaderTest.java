@@ -0,0 +1,55 @@
+package com.example.applicationflow.mapper;
+
+import com.example.applicationflow.model.ApplicationDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationCsvReaderTest {
+
+    @DisplayName("next() should read records by header name, including quoted separators, quotes and line breaks")
+    @Test
+    void shouldReadQuotedRecords() throws IOException {
+        // Given
+        ApplicationCsvReader reader = reader("content,name\r\n\"a, \"\"quoted\"\"\nvalue\",appName1\r\nplain,appName2\n");
+
+        // When
+        ApplicationDto first = reader.next();
+        ApplicationDto second = reader.next();
+
+        // Then
+        assertEquals("appName1", first.getName());
+        assertEquals("a, \"quoted\"\nvalue", first.getContent());
+        assertEquals("appName2", second.getName());
+        assertEquals("plain", second.getContent());
+        assertNull(reader.next());
+    }
+
+    @DisplayName("next() should reject a record with the wrong column count and continue")
+    @Test
+    void shouldRejectWrongColumnCount() throws IOException {
+        // Given
+        ApplicationCsvReader reader = reader("name,content\nappName1\nappName2,appContent2\n");
+
+        // When
+        // Then
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("appName2", reader.next().getName());
+    }
+
+    @DisplayName("constructor should require the name and content columns")
+    @Test
+    void shouldRequireHeader() {
+        assertThrows(IOException.class, () -> reader("title,body\nx,y\n"));
+    }
+
+    private static ApplicationCsvReader reader(String csv) throws IOException {
+        return new ApplicationCsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
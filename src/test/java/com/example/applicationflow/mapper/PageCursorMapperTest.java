@@ -0,0 +1,31 @@
+package com.example.applicationflow.mapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PageCursorMapperTest {
+
+    @DisplayName("should decode the keys it encoded")
+    @Test
+    void shouldRoundTripKeys() {
+        //given
+        String cursor = PageCursorMapper.encode("a379c929-dfa0-4643-9da2-6eac3e8135a1", "2023-11-05T10:15:30Z");
+
+        //when
+        String[] keys = PageCursorMapper.decode(cursor, 2);
+
+        //then
+        assertArrayEquals(new String[]{"a379c929-dfa0-4643-9da2-6eac3e8135a1", "2023-11-05T10:15:30Z"}, keys);
+    }
+
+    @DisplayName("should reject a cursor that was not produced by encode")
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursorMapper.decode("not a cursor!", 1));
+        assertThrows(IllegalArgumentException.class, () -> PageCursorMapper.decode(PageCursorMapper.encode("1", "2"), 1));
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.example.applicationflow.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ApplicationActionTest {
+
+    @DisplayName("should allow actions only from their source statuses")
+    @Test
+    void shouldAllowActionsFromSourceStatuses() {
+        assertTrue(ApplicationAction.VERIFY.isAllowedFrom(ApplicationStatus.CREATED));
+        assertTrue(ApplicationAction.REJECT.isAllowedFrom(ApplicationStatus.ACCEPTED));
+        assertFalse(ApplicationAction.PUBLISH.isAllowedFrom(ApplicationStatus.VERIFIED));
+        assertFalse(ApplicationAction.DELETE.isAllowedFrom(ApplicationStatus.DELETED));
+    }
+
+    @DisplayName("transition table should list the allowed actions for every status")
+    @Test
+    void shouldBuildTransitionTable() {
+        //when
+        Map<ApplicationStatus, Set<ApplicationAction>> table = ApplicationAction.transitionTable();
+
+        //then
+        assertThat(table).containsOnlyKeys(ApplicationStatus.values());
+        assertThat(table.get(ApplicationStatus.CREATED))
+                .containsExactlyInAnyOrder(ApplicationAction.VERIFY, ApplicationAction.DELETE, ApplicationAction.EDIT);
+        assertThat(table.get(ApplicationStatus.VERIFIED))
+                .containsExactlyInAnyOrder(ApplicationAction.ACCEPT, ApplicationAction.REJECT, ApplicationAction.EDIT);
+        assertThat(table.get(ApplicationStatus.PUBLISHED)).isEmpty();
+        assertThrows(UnsupportedOperationException.class, () -> table.get(ApplicationStatus.CREATED).clear());
+    }
+
+}
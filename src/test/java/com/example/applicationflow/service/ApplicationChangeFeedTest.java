@@ -0,0 +1,97 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationChangeFeedTest {
+
+    @Mock
+    private ApplicationChangeEventRepository eventRepository;
+
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch socket = new CountDownLatch(1);
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private ApplicationChangeFeed changeFeed;
+
+    @AfterEach
+    void tearDown() {
+        socket.countDown();
+        changeFeed.stop();
+    }
+
+    @DisplayName("publish() should return while dropping a subscriber whose send is stuck, and complete it once the send returns")
+    @Test
+    void shouldNotBlockPublisherOnStalledSubscriber() throws Exception {
+        // Given
+        changeFeed = new ApplicationChangeFeed(eventRepository, new SimpleMeterRegistry(), 1, 10, Duration.ofMinutes(1), 2, 10) {
+            @Override
+            SseEmitter newEmitter() {
+                return new StalledEmitter();
+            }
+        };
+        changeFeed.subscribe(null);
+        changeFeed.publish(change());
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        // When
+        // the first fills the buffer, the second overflows it
+        CompletableFuture<Void> publishing = CompletableFuture.runAsync(() -> {
+            changeFeed.publish(change());
+            changeFeed.publish(change());
+        });
+
+        // Then
+        publishing.get(5, TimeUnit.SECONDS);
+        assertEquals(0, changeFeed.getSubscriberCount());
+        assertEquals(1, completed.getCount());
+        socket.countDown();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ApplicationChange change() {
+        return ApplicationChange.builder().eventId(UUID.randomUUID()).applicationId("1").status(ApplicationStatus.CREATED).build();
+    }
+
+    /**
+     * Holds the emitter's lock while sending, as a send to a stalled socket does.
+     */
+    private class StalledEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            synchronized (this) {
+                sending.countDown();
+                try {
+                    socket.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+    }
+
+}
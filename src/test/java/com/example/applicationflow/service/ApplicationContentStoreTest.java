@@ -0,0 +1,70 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationContent;
+import com.example.applicationflow.repository.ApplicationContentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationContentStoreTest {
+
+    @InjectMocks
+    private ApplicationContentStore contentStore;
+    @Mock
+    private ApplicationContentRepository contentRepository;
+
+    private final String content = "testAppContent1 ".repeat(100);
+
+    @DisplayName("storeIfAbsent() should insert compressed content that loads back unchanged")
+    @Test
+    void shouldStoreCompressedContent() {
+        // Given
+        String hash = ApplicationContentStore.hashOf(content);
+
+        // When
+        contentStore.storeIfAbsent(hash, content);
+
+        // Then
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(contentRepository).insertIfAbsent(eq(hash), captor.capture());
+        assertTrue(captor.getValue().length < content.length());
+
+        when(contentRepository.findById(hash)).thenReturn(Optional.of(ApplicationContent.builder().hash(hash).data(captor.getValue()).build()));
+        assertEquals(content, contentStore.load(hash));
+    }
+
+    @DisplayName("storeIfAbsent() should report content stored concurrently as a retryable failure")
+    @Test
+    void shouldReportConcurrentInsertAsRetryable() {
+        // Given
+        String hash = ApplicationContentStore.hashOf(content);
+        when(contentRepository.insertIfAbsent(eq(hash), any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        // Then
+        assertThrows(ConcurrencyFailureException.class, () -> contentStore.storeIfAbsent(hash, content));
+    }
+
+    @DisplayName("hashOf() should be a stable hex SHA-256")
+    @Test
+    void shouldHashContent() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", ApplicationContentStore.hashOf(""));
+        assertEquals(ApplicationContentStore.hashOf(content), ApplicationContentStore.hashOf(content));
+    }
+
+}
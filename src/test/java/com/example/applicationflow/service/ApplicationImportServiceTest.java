@@ -0,0 +1,173 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.mapper.ApplicationJsonReader;
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationImportReport;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ApplicationStatusCounters statusCounters;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventOutbox eventOutbox;
+    @Mock
+    private ApplicationChangeFeed changeFeed;
+
+    private ApplicationImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ApplicationImportService(jdbcTemplate, new TimeOrderedUuidGenerator(), statusCounters, eventOutbox, changeFeed, new TransactionRetryPolicy(transactionManager, 3, Duration.ZERO), new SimpleMeterRegistry(), 2);
+    }
+
+    @DisplayName("importApplications() should write valid records in chunks and report invalid ones by row")
+    @Test
+    void shouldImportInChunksAndReportErrors() throws IOException {
+        // Given
+        String json = """
+                [{"name": "appName1", "content": "appContent1"},
+                 {"name": "", "content": "appContent2"},
+                 {"name": "appName3", "content": "appContent1"},
+                 42,
+                 {"name": "appName5", "content": "appContent5", "unknown": true}]
+                """;
+
+        // When
+        ApplicationImportReport report = importService.importApplications(reader(json));
+
+        // Then
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(2L, 4L), report.getErrors().stream().map(error -> error.getRow()).toList());
+        assertNull(report.getAborted());
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into applications"), anyList());
+        // both records of the first chunk share one content version, so each chunk writes one content row
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into contents"), argThat((List<Object[]> rows) -> rows.size() == 1));
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into events"), anyList());
+        verify(statusCounters).recordCreated(2);
+        verify(statusCounters).recordCreated(1);
+        verify(changeFeed).publish(argThat((List<ApplicationChange> changes) -> changes.size() == 2
+                && changes.get(0).getName().equals("appName1") && changes.get(0).getStatus() == ApplicationStatus.CREATED));
+    }
+
+    @DisplayName("importApplications() should reject a record that does not bind and carry on with the next one")
+    @Test
+    void shouldRejectUnboundRecordAndContinue() throws IOException {
+        // Given
+        String json = """
+                [{"name": "appName1", "content": "appContent1"},
+                 {"name": "appName2", "status": "UNKNOWN", "content": {"nested": [1, {"deeper": 2}]}},
+                 {"name": "appName3", "content": "appContent3"}]
+                """;
+
+        // When
+        ApplicationImportReport report = importService.importApplications(reader(json));
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2L, report.getErrors().get(0).getRow());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Invalid application"));
+        assertNull(report.getAborted());
+    }
+
+    @DisplayName("importApplications() should keep committed chunks and report where a failing chunk aborted")
+    @Test
+    void shouldAbortOnDatabaseError() throws IOException {
+        // Given
+        String json = """
+                [{"name": "appName1", "content": "appContent1"},
+                 {"name": "appName2", "content": "appContent2"},
+                 {"name": "appName3", "content": "appContent3"},
+                 {"name": "appName4", "content": "appContent4"},
+                 {"name": "appName5", "content": "appContent5"}]
+                """;
+        // lenient: the other inserts go through the same method
+        lenient().when(jdbcTemplate.batchUpdate(startsWith("insert into applications"), anyList()))
+                .thenReturn(new int[]{1, 1})
+                .thenThrow(new DataIntegrityViolationException("check constraint violated"));
+
+        // When
+        ApplicationImportReport report = importService.importApplications(reader(json));
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals("Database error writing the rows up to row 4", report.getAborted());
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into applications"), anyList());
+        verify(statusCounters).recordCreated(2);
+    }
+
+    @DisplayName("importApplications() should repeat a chunk whose content insert lost a race with the same content")
+    @Test
+    void shouldRetryChunkOnConcurrentContentInsert() throws IOException {
+        // Given
+        String json = "[{\"name\": \"appName1\", \"content\": \"appContent1\"}]";
+        // lenient: the other inserts go through the same method
+        lenient().when(jdbcTemplate.batchUpdate(startsWith("insert into contents"), anyList()))
+                .thenThrow(new DuplicateKeyException("contents primary key"))
+                .thenReturn(new int[]{0});
+
+        // When
+        ApplicationImportReport report = importService.importApplications(reader(json));
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertNull(report.getAborted());
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into contents"), anyList());
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into applications"), anyList());
+    }
+
+    @DisplayName("importApplications() should keep committed chunks and report where unreadable input aborted")
+    @Test
+    void shouldAbortOnUnreadableInput() throws IOException {
+        // Given
+        String json = "[{\"name\": \"appName1\", \"content\": \"appContent1\"}, {\"name\": ";
+
+        // When
+        ApplicationImportReport report = importService.importApplications(reader(json));
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertNotNull(report.getAborted());
+        assertTrue(report.getAborted().contains("row 2"));
+        verify(jdbcTemplate).batchUpdate(eq("insert into applications (id, name, content, content_hash, status, version) values (?, ?, ?, ?, ?, 0)"), anyList());
+    }
+
+    private static ApplicationJsonReader reader(String json) throws IOException {
+        return new ApplicationJsonReader(new ObjectMapper(), new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -1,9 +1,16 @@
 package com.example.applicationflow.service;
 
+import com.example.applicationflow.exception.ApplicationVersionMismatchException;
 import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.mapper.PageCursorMapper;
 import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationChangeEvent;
 import com.example.applicationflow.model.ApplicationDto;
+import com.example.applicationflow.model.ApplicationHistoryEntry;
+import com.example.applicationflow.model.ApplicationPage;
 import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationSummary;
 import com.example.applicationflow.repository.ApplicationChangeEventRepository;
 import com.example.applicationflow.repository.ApplicationRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -12,13 +19,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Instant;
+import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,10 +50,22 @@ public class ApplicationServiceTest {
     private ApplicationRepository applicationRepository;
     @Mock
     private ApplicationChangeEventRepository eventRepository;
+    @Mock
+    private ApplicationEventJournal eventJournal;
+    @Mock
+    private ApplicationContentStore contentStore;
+    @Mock
+    private ApplicationStatusCounters statusCounters;
+    @Spy
+    private IdGenerator idGenerator = new TimeOrderedUuidGenerator();
+    @Spy
+    private TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(mock(PlatformTransactionManager.class), 3, Duration.ZERO);
 
     private final String testApp1Name = "testAppName1";
     private final String testApp1Content = "testAppContent1";
     private final String appId = "a379c929-dfa0-4643-9da2-6eac3e8135a1";
+    private final UUID eventId1 = UUID.fromString("018f3a52-7c00-7000-8000-000000000001");
+    private final UUID eventId2 = UUID.fromString("018f3a52-7c00-7000-8000-000000000002");
 
     @DisplayName("findAllApplications() should return all applications")
     @Test
@@ -59,6 +89,57 @@ public class ApplicationServiceTest {
         assertEquals(appDtoList.get(1).getContent(), testApp2Content);
     }
 
+    @DisplayName("findApplications() should return one page and a cursor when more rows exist")
+    @Test
+    void shouldReturnFirstPageWithCursor() {
+        // Given
+        Application app1 = Application.builder().id("1").status(ApplicationStatus.CREATED).name(testApp1Name).content(testApp1Content).build();
+        Application app2 = Application.builder().id("2").status(ApplicationStatus.CREATED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq(ApplicationStatus.CREATED), eq(""), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(app1, app2));
+
+        // When
+        ApplicationPage<ApplicationDto> page = applicationService.findApplications(ApplicationStatus.CREATED, null, 1);
+
+        // Then
+        assertThat(page.getItems()).hasSize(1);
+        assertEquals("1", page.getItems().get(0).getId());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @DisplayName("findApplications() should continue after the cursor and stop on the last page")
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        // Given
+        Application app2 = Application.builder().id("2").status(ApplicationStatus.CREATED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findByIdGreaterThanOrderByIdAsc(eq("1"), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(app2));
+
+        // When
+        ApplicationPage<ApplicationDto> page = applicationService.findApplications(null, PageCursorMapper.encode("1"), 1);
+
+        // Then
+        assertThat(page.getItems()).hasSize(1);
+        assertEquals("2", page.getItems().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @DisplayName("findApplicationSummaries() should page over the content-less projection")
+    @Test
+    void shouldReturnSummaryPage() {
+        // Given
+        ApplicationSummary summary = new ApplicationSummary("1", testApp1Name, ApplicationStatus.CREATED);
+        when(applicationRepository.findSummariesByIdGreaterThan(eq(""), eq(PageRequest.of(0, 51))))
+                .thenReturn(List.of(summary));
+
+        // When
+        ApplicationPage<ApplicationSummary> page = applicationService.findApplicationSummaries(null, null, null);
+
+        // Then
+        assertThat(page.getItems()).containsExactly(summary);
+        assertNull(page.getNextCursor());
+    }
+
     @DisplayName("createApplication() should set CREATED status and create an event")
     @Test
     void shouldCreateApplicationSetsCreatedStatus() {
@@ -75,40 +156,40 @@ public class ApplicationServiceTest {
         assertEquals(savedApp.getStatus(), ApplicationStatus.CREATED);
         assertEquals(savedApp.getName(), testApp1Name);
         assertEquals(savedApp.getContent(), testApp1Content);
-        verify(eventRepository).save(
+        assertTrue(savedApp.isNew());
+        verify(contentStore).storeIfAbsent(ApplicationContentStore.hashOf(testApp1Content), testApp1Content);
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.CREATED
                                 && a.getApplicationId().equals(savedApp.getId())
                                 && a.getName().equals(testApp1Name)
-                                && a.getContent().equals(testApp1Content)
+                                && a.getContentHash().equals(ApplicationContentStore.hashOf(testApp1Content))
                 )
 
         );
+        verify(statusCounters).recordCreated(1);
     }
 
     @DisplayName("verify() should set VERIFIED status and create an event for application in CREATED status")
     @Test
     void shouldVerifySetsVerifiedStatusForApplicationInCreatedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.CREATED).name(testApp1Name).content(testApp1Content).build();
         Application app = Application.builder().id(appId).status(ApplicationStatus.VERIFIED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.VERIFIED
-                        )
-                )
-        ).thenReturn(app);
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.CREATED)), eq(ApplicationStatus.VERIFIED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.verify(appDto);
+        applicationService.transition(appId, ApplicationAction.VERIFY, null);
 
         // Then
-        verify(eventRepository).save(
+        verify(applicationRepository, never()).save(any());
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.VERIFIED
                                 && a.getApplicationId().equals(appId)
                                 && a.getName().equals(testApp1Name)
-                                && a.getContent().equals(testApp1Content)
+                                && a.getContentHash().equals(ApplicationContentStore.hashOf(testApp1Content))
                 )
         );
     }
@@ -117,11 +198,54 @@ public class ApplicationServiceTest {
     @Test
     void shouldVerifyThrowsStatusNotFoundException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED)
-                .name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.verify(appDto));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.VERIFY, null));
+    }
+
+    @DisplayName("verify() should report a version mismatch when the expected version is no longer current")
+    @Test
+    void shouldRejectStaleExpectedVersion() {
+        // Given
+        when(applicationRepository.updateStatus(eq(appId), any(), eq(ApplicationStatus.VERIFIED), eq(3L))).thenReturn(0);
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.CREATED);
+
+        // When
+        // Then
+        ApplicationVersionMismatchException exception = assertThrows(ApplicationVersionMismatchException.class,
+                () -> applicationService.transition(appId, ApplicationAction.VERIFY, null, 3L));
+        assertEquals(3L, exception.getExpectedVersion());
+        verify(eventJournal, never()).append(any());
+    }
+
+    @DisplayName("verify() should retry a lost race when no version is expected")
+    @Test
+    void shouldRetryLostRace() throws InvalidStatusException {
+        // Given
+        Application app = Application.builder().id(appId).status(ApplicationStatus.VERIFIED).name(testApp1Name).content(testApp1Content).version(2L).build();
+        when(applicationRepository.updateStatus(eq(appId), any(), eq(ApplicationStatus.VERIFIED), isNull())).thenReturn(0, 1);
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.CREATED);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
+
+        // When
+        ApplicationDto result = applicationService.transition(appId, ApplicationAction.VERIFY, null);
+
+        // Then
+        assertEquals(ApplicationStatus.VERIFIED, result.getStatus());
+        assertEquals(2L, result.getVersion());
+        verify(eventJournal).append(any());
+    }
+
+    @DisplayName("verify() should return null when the application does not exist")
+    @Test
+    void shouldVerifyReturnNullForUnknownApplication() throws InvalidStatusException {
+        // When
+        ApplicationDto result = applicationService.transition(appId, ApplicationAction.VERIFY, null);
+
+        // Then
+        assertNull(result);
+        verify(eventJournal, never()).append(any());
     }
 
     @DisplayName("findApplicationById() should return application by id")
@@ -142,26 +266,106 @@ public class ApplicationServiceTest {
         assertEquals(appDto.getContent(), testApp1Content);
     }
 
+    @DisplayName("findApplicationVersion() should rebuild the application from the event and its content hash")
+    @Test
+    void shouldRebuildApplicationVersion() {
+        // Given
+        String contentHash = ApplicationContentStore.hashOf(testApp1Content);
+        ApplicationChangeEvent event = ApplicationChangeEvent.builder().eventId(eventId1).applicationId(appId)
+                .name(testApp1Name).contentHash(contentHash).status(ApplicationStatus.VERIFIED).build();
+        when(eventRepository.findById(eventId1)).thenReturn(java.util.Optional.of(event));
+        when(contentStore.load(contentHash)).thenReturn(testApp1Content);
+
+        // When
+        ApplicationDto appDto = applicationService.findApplicationVersion(appId, eventId1.toString());
+
+        // Then
+        assertEquals(appDto.getId(), appId);
+        assertEquals(appDto.getStatus(), ApplicationStatus.VERIFIED);
+        assertEquals(appDto.getContent(), testApp1Content);
+    }
+
+    @DisplayName("findApplicationHistory() should page by timestamp and event id and load content on request")
+    @Test
+    void shouldReturnHistoryPageWithContent() {
+        // Given
+        String contentHash = ApplicationContentStore.hashOf(testApp1Content);
+        Instant created = Instant.parse("2024-01-01T10:00:00Z");
+        ApplicationHistoryEntry first = new ApplicationHistoryEntry(eventId1, testApp1Name, ApplicationStatus.CREATED, created, null, contentHash);
+        ApplicationHistoryEntry second = new ApplicationHistoryEntry(eventId2, testApp1Name, ApplicationStatus.VERIFIED, created.plusSeconds(1), null, contentHash);
+        when(eventRepository.findHistory(eq(appId), eq(PageRequest.of(0, 2)))).thenReturn(List.of(first, second));
+        when(contentStore.load(contentHash)).thenReturn(testApp1Content);
+
+        // When
+        ApplicationPage<ApplicationHistoryEntry> page = applicationService.findApplicationHistory(appId, null, 1, true);
+
+        // Then
+        assertThat(page.getItems()).containsExactly(first);
+        assertEquals(testApp1Content, first.getContent());
+        assertArrayEquals(new String[]{created.toString(), eventId1.toString()}, PageCursorMapper.decode(page.getNextCursor(), 2));
+    }
+
+    @DisplayName("findApplicationHistory() should continue after the cursor without loading content")
+    @Test
+    void shouldReturnHistoryPageAfterCursor() {
+        // Given
+        Instant created = Instant.parse("2024-01-01T10:00:00Z");
+        ApplicationHistoryEntry second = new ApplicationHistoryEntry(eventId2, testApp1Name, ApplicationStatus.VERIFIED, created.plusSeconds(1), null, "hash");
+        when(eventRepository.findHistoryAfter(eq(appId), eq(created), eq(eventId1), eq(PageRequest.of(0, 2)))).thenReturn(List.of(second));
+
+        // When
+        ApplicationPage<ApplicationHistoryEntry> page = applicationService.findApplicationHistory(appId, PageCursorMapper.encode(created.toString(), eventId1.toString()), 1, false);
+
+        // Then
+        assertThat(page.getItems()).containsExactly(second);
+        assertNull(second.getContent());
+        assertNull(page.getNextCursor());
+        verify(contentStore, never()).load(any());
+    }
+
+    @DisplayName("findApplicationHistory() should return null for an unknown application")
+    @Test
+    void shouldNotReturnHistoryOfUnknownApplication() {
+        // Given
+        when(eventRepository.findHistory(eq(appId), any())).thenReturn(List.of());
+        when(applicationRepository.existsById(appId)).thenReturn(false);
+
+        // When
+        ApplicationPage<ApplicationHistoryEntry> page = applicationService.findApplicationHistory(appId, null, null, false);
+
+        // Then
+        assertNull(page);
+    }
+
+    @DisplayName("findApplicationVersion() should return null for an event of another application")
+    @Test
+    void shouldNotRebuildVersionOfOtherApplication() {
+        // Given
+        ApplicationChangeEvent event = ApplicationChangeEvent.builder().eventId(eventId1).applicationId("other").build();
+        when(eventRepository.findById(eventId1)).thenReturn(java.util.Optional.of(event));
+
+        // When
+        ApplicationDto appDto = applicationService.findApplicationVersion(appId, eventId1.toString());
+
+        // Then
+        assertNull(appDto);
+    }
+
 
     @DisplayName("delete should set DELETED status and create an event")
     @Test
     void shouldDeleteApplicationSetsDeletedStatus() throws InvalidStatusException {
         // Given
-        Application app = Application.builder().id(appId).status(ApplicationStatus.CREATED).name(testApp1Name).content(testApp1Content).build();
-        Application appForSave = Application.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.DELETED
-                        )
-                )
-        ).thenReturn(appForSave);
+        Application app = Application.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.CREATED)), eq(ApplicationStatus.DELETED), isNull()))
+                .thenReturn(1);
         when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.delete(appId, "test cause");
+        applicationService.transition(appId, ApplicationAction.DELETE, "test cause");
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.DELETED
                                 && a.getApplicationId().equals(appId)
@@ -175,11 +379,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldDeleteThrowsStatusNotFoundException() {
         // Given
-        Application app = Application.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         //Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.delete(appId, "test cause"));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.DELETE, "test cause"));
     }
 
 
@@ -187,36 +390,34 @@ public class ApplicationServiceTest {
     @Test
     void shouldRejectSetsRejectedStatusForApplicationInCreatedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.VERIFIED).name(testApp1Name).content(testApp1Content).build();
-        Application app = Application.builder().id(appId).status(ApplicationStatus.REJECTED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.REJECTED
-                        )
-                )
-        ).thenReturn(app);
+        Application app = Application.builder().id(appId).status(ApplicationStatus.REJECTED).previousStatus(ApplicationStatus.ACCEPTED)
+                .name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.VERIFIED)), eq(ApplicationStatus.REJECTED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.reject(appDto, "test cause");
+        applicationService.transition(appId, ApplicationAction.REJECT, "test cause");
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.REJECTED
                                 && a.getApplicationId().equals(appId)
                                 && a.getName().equals(testApp1Name)
                 )
         );
+        verify(statusCounters).recordTransition(ApplicationStatus.ACCEPTED, ApplicationStatus.REJECTED);
     }
 
     @DisplayName("reject() should throw InvalidStatusException if application status not Verified and not accepted")
     @Test
     void shouldRejectThrowsInvalidStatusException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.reject(appDto, "test cause"));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.REJECT, "test cause"));
     }
 
 
@@ -224,20 +425,16 @@ public class ApplicationServiceTest {
     @Test
     void shouldAcceptSetsAcceptedStatusForApplicationInVerifiedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.VERIFIED).name(testApp1Name).content(testApp1Content).build();
         Application app = Application.builder().id(appId).status(ApplicationStatus.ACCEPTED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.ACCEPTED
-                        )
-                )
-        ).thenReturn(app);
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.VERIFIED)), eq(ApplicationStatus.ACCEPTED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.accept(appDto);
+        applicationService.transition(appId, ApplicationAction.ACCEPT, null);
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.ACCEPTED
                                 && a.getApplicationId().equals(appId)
@@ -251,10 +448,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldAcceptThrowsStatusNotFoundException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.accept(appDto));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.ACCEPT, null));
     }
 
 
@@ -262,10 +459,10 @@ public class ApplicationServiceTest {
     @Test
     void shouldPublishThrowsStatusNotFoundException() {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.DELETED).name(testApp1Name).content(testApp1Content).build();
+        when(applicationRepository.findStatusById(appId)).thenReturn(ApplicationStatus.DELETED);
 
         // When and Then
-        assertThrows(InvalidStatusException.class, () -> applicationService.publish(appDto));
+        assertThrows(InvalidStatusException.class, () -> applicationService.transition(appId, ApplicationAction.PUBLISH, null));
     }
 
 
@@ -273,20 +470,16 @@ public class ApplicationServiceTest {
     @Test
     void shouldPublishSetsPublishedStatusForApplicationInPublishedStatus() throws InvalidStatusException {
         // Given
-        ApplicationDto appDto = ApplicationDto.builder().id(appId).status(ApplicationStatus.ACCEPTED).name(testApp1Name).content(testApp1Content).build();
         Application app = Application.builder().id(appId).status(ApplicationStatus.PUBLISHED).name(testApp1Name).content(testApp1Content).build();
-        when(applicationRepository.save(
-                        argThat(
-                                a -> a.getId().equals(appId) && a.getStatus() == ApplicationStatus.PUBLISHED
-                        )
-                )
-        ).thenReturn(app);
+        when(applicationRepository.updateStatus(eq(appId), argThat(from -> from.contains(ApplicationStatus.ACCEPTED)), eq(ApplicationStatus.PUBLISHED), isNull()))
+                .thenReturn(1);
+        when(applicationRepository.findById(appId)).thenReturn(java.util.Optional.of(app));
 
         // When
-        applicationService.publish(appDto);
+        applicationService.transition(appId, ApplicationAction.PUBLISH, null);
 
         // Then
-        verify(eventRepository).save(
+        verify(eventJournal).append(
                 argThat(
                         a -> a.getStatus() == ApplicationStatus.PUBLISHED
                                 && a.getApplicationId().equals(appId)
@@ -0,0 +1,146 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationStatusCount;
+import com.example.applicationflow.repository.ApplicationRepository;
+import com.example.applicationflow.repository.ApplicationStatusCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationStatusCountersTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+    @Mock
+    private ApplicationStatusCountRepository countRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ApplicationStatusCounters(applicationRepository, countRepository, new TransactionTemplate(transactionManager));
+    }
+
+    @DisplayName("getCounts() should add unflushed changes to the stored counts without scanning applications")
+    @Test
+    void shouldAddPendingChangesToStoredCounts() {
+        // Given
+        when(countRepository.count()).thenReturn((long) ApplicationStatus.values().length);
+        when(countRepository.findAll()).thenReturn(stored(Map.of(ApplicationStatus.CREATED, 5L, ApplicationStatus.VERIFIED, 2L)));
+        counters.start();
+
+        // When
+        counters.recordCreated(3);
+        counters.recordTransition(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED);
+        Map<ApplicationStatus, Long> counts = counters.getCounts();
+
+        // Then
+        assertEquals(7, counts.get(ApplicationStatus.CREATED));
+        assertEquals(3, counts.get(ApplicationStatus.VERIFIED));
+        assertEquals(0, counts.get(ApplicationStatus.PUBLISHED));
+        verifyNoInteractions(applicationRepository);
+    }
+
+    @DisplayName("flush() should add the pending deltas to the table and reload the counts")
+    @Test
+    void shouldFlushDeltas() {
+        // Given
+        counters.recordCreated(3);
+        counters.recordTransition(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED);
+        when(countRepository.findAll()).thenReturn(stored(Map.of(ApplicationStatus.CREATED, 2L, ApplicationStatus.VERIFIED, 1L)));
+
+        // When
+        counters.flush();
+
+        // Then
+        verify(countRepository).addToTotal(ApplicationStatus.CREATED, 2);
+        verify(countRepository).addToTotal(ApplicationStatus.VERIFIED, 1);
+        verify(countRepository, never()).addToTotal(ApplicationStatus.DELETED, 0);
+        assertEquals(2, counters.getCounts().get(ApplicationStatus.CREATED));
+        assertEquals(1, counters.getCounts().get(ApplicationStatus.VERIFIED));
+    }
+
+    @DisplayName("flush() should keep the deltas for the next flush when the update fails")
+    @Test
+    void shouldKeepDeltasWhenFlushFails() {
+        // Given
+        counters.recordCreated(2);
+        when(countRepository.addToTotal(any(), anyLong())).thenThrow(new QueryTimeoutException("timeout"));
+
+        // When
+        counters.flush();
+
+        // Then
+        assertEquals(2, counters.getCounts().get(ApplicationStatus.CREATED));
+    }
+
+    @DisplayName("reconcile() should replace the counts with a recount, zero for statuses without applications")
+    @Test
+    void shouldReconcileFromRecount() {
+        // Given
+        counters.recordCreated(10);
+        when(applicationRepository.countByStatus()).thenReturn(List.of(new ApplicationStatusCount(ApplicationStatus.PUBLISHED, 4L)));
+
+        // When
+        counters.reconcile();
+
+        // Then
+        verify(countRepository, times(ApplicationStatus.values().length)).save(any(ApplicationStatusCount.class));
+        assertEquals(0, counters.getCounts().get(ApplicationStatus.CREATED));
+        assertEquals(4, counters.getCounts().get(ApplicationStatus.PUBLISHED));
+    }
+
+    @DisplayName("reconcile() should discard only the changes recorded before the recount started")
+    @Test
+    void shouldKeepChangesRecordedAfterRecountStarted() {
+        // Given
+        counters.recordCreated(10);
+        // committed while the recount transaction begins, before the count statement: the count includes it
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            counters.recordCreated(1);
+            return null;
+        });
+        // committed while the count runs, after its snapshot: only the pending delta has it
+        when(applicationRepository.countByStatus()).thenAnswer(invocation -> {
+            counters.recordTransition(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED);
+            return List.of(new ApplicationStatusCount(ApplicationStatus.CREATED, 11L));
+        });
+
+        // When
+        counters.reconcile();
+
+        // Then
+        assertEquals(10, counters.getCounts().get(ApplicationStatus.CREATED));
+        assertEquals(1, counters.getCounts().get(ApplicationStatus.VERIFIED));
+    }
+
+    private static List<ApplicationStatusCount> stored(Map<ApplicationStatus, Long> totals) {
+        return Arrays.stream(ApplicationStatus.values())
+                .map(status -> new ApplicationStatusCount(status, totals.getOrDefault(status, 0L)))
+                .toList();
+    }
+
+}
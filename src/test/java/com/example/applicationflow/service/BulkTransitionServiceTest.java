@@ -0,0 +1,144 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.config.CacheConfig;
+import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.model.ApplicationTransitionRequest;
+import com.example.applicationflow.model.ApplicationTransitionResult;
+import com.example.applicationflow.model.TransitionOutcome;
+import com.example.applicationflow.repository.ApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTransitionServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+    @Mock
+    private ApplicationEventJournal eventJournal;
+    @Mock
+    private ApplicationContentStore contentStore;
+    @Mock
+    private ApplicationStatusCounters statusCounters;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.APPLICATIONS);
+    private BulkTransitionService bulkTransitionService;
+
+    @BeforeEach
+    void setUp() {
+        bulkTransitionService = new BulkTransitionService(applicationRepository, eventJournal, contentStore,
+                new TimeOrderedUuidGenerator(), statusCounters, new TransactionRetryPolicy(transactionManager, 3, Duration.ZERO), cacheManager, 2, 10);
+    }
+
+    @DisplayName("transitionAll() should report success, not found, invalid status and invalid request per item")
+    @Test
+    void shouldReportOutcomePerItem() {
+        // Given
+        Application accepted = application("1", ApplicationStatus.ACCEPTED);
+        Application created = application("2", ApplicationStatus.CREATED);
+        when(applicationRepository.findAllByIdForUpdate(List.of("1", "2"))).thenReturn(List.of(accepted, created));
+        when(applicationRepository.findAllByIdForUpdate(List.of("3"))).thenReturn(List.of());
+        List<ApplicationTransitionRequest> requests = List.of(
+                new ApplicationTransitionRequest("1", ApplicationAction.PUBLISH, null),
+                new ApplicationTransitionRequest("2", ApplicationAction.PUBLISH, null),
+                new ApplicationTransitionRequest("3", ApplicationAction.PUBLISH, null),
+                new ApplicationTransitionRequest("4", ApplicationAction.REJECT, null));
+
+        // When
+        List<ApplicationTransitionResult> results = bulkTransitionService.transitionAll(requests);
+
+        // Then
+        assertEquals(List.of(TransitionOutcome.SUCCESS, TransitionOutcome.INVALID_STATUS, TransitionOutcome.NOT_FOUND, TransitionOutcome.INVALID_REQUEST),
+                results.stream().map(ApplicationTransitionResult::getOutcome).toList());
+        assertEquals(ApplicationStatus.PUBLISHED, results.get(0).getStatus());
+        assertEquals(1L, results.get(0).getVersion());
+        assertEquals(ApplicationStatus.CREATED, results.get(1).getStatus());
+        verify(applicationRepository).updateStatuses(eq(List.of("1")), argThat(from -> from.contains(ApplicationStatus.ACCEPTED)), eq(ApplicationStatus.PUBLISHED));
+        verify(eventJournal).append(argThat(event -> event.getApplicationId().equals("1") && event.getStatus() == ApplicationStatus.PUBLISHED));
+        verify(statusCounters).recordTransition(ApplicationStatus.ACCEPTED, ApplicationStatus.PUBLISHED);
+    }
+
+    @DisplayName("transitionAll() should apply a repeated id in a later chunk")
+    @Test
+    void shouldSplitChunkOnRepeatedId() {
+        // Given
+        when(applicationRepository.findAllByIdForUpdate(List.of("1")))
+                .thenReturn(List.of(application("1", ApplicationStatus.CREATED)))
+                .thenReturn(List.of(application("1", ApplicationStatus.VERIFIED)));
+        List<ApplicationTransitionRequest> requests = List.of(
+                new ApplicationTransitionRequest("1", ApplicationAction.VERIFY, null),
+                new ApplicationTransitionRequest("1", ApplicationAction.ACCEPT, null));
+
+        // When
+        List<ApplicationTransitionResult> results = bulkTransitionService.transitionAll(requests);
+
+        // Then
+        assertTrue(results.stream().allMatch(result -> result.getOutcome() == TransitionOutcome.SUCCESS));
+        verify(applicationRepository, times(2)).findAllByIdForUpdate(List.of("1"));
+        verify(eventJournal, times(2)).append(any());
+    }
+
+    @DisplayName("transitionAll() should retry a chunk losing lock races, then report its items as failed and carry on")
+    @Test
+    void shouldReportChunkFailedAfterRetries() {
+        // Given
+        when(applicationRepository.findAllByIdForUpdate(List.of("1", "2"))).thenThrow(new CannotAcquireLockException("lock timeout"));
+        when(applicationRepository.findAllByIdForUpdate(List.of("3"))).thenReturn(List.of(application("3", ApplicationStatus.CREATED)));
+        List<ApplicationTransitionRequest> requests = List.of(
+                new ApplicationTransitionRequest("1", ApplicationAction.VERIFY, null),
+                new ApplicationTransitionRequest("2", ApplicationAction.VERIFY, null),
+                new ApplicationTransitionRequest("3", ApplicationAction.VERIFY, null));
+
+        // When
+        List<ApplicationTransitionResult> results = bulkTransitionService.transitionAll(requests);
+
+        // Then
+        assertEquals(List.of(TransitionOutcome.FAILED, TransitionOutcome.FAILED, TransitionOutcome.SUCCESS),
+                results.stream().map(ApplicationTransitionResult::getOutcome).toList());
+        assertEquals("2", results.get(1).getId());
+        verify(applicationRepository, times(3)).findAllByIdForUpdate(List.of("1", "2"));
+        verify(eventJournal).append(argThat(event -> event.getApplicationId().equals("3")));
+    }
+
+    @DisplayName("transitionAll() should refuse more than max-items")
+    @Test
+    void shouldRefuseTooManyItems() {
+        // Given
+        List<ApplicationTransitionRequest> requests = Collections.nCopies(11, new ApplicationTransitionRequest("1", ApplicationAction.VERIFY, null));
+
+        // When
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> bulkTransitionService.transitionAll(requests));
+        verify(applicationRepository, never()).findAllByIdForUpdate(any());
+    }
+
+    private static Application application(String id, ApplicationStatus status) {
+        return Application.builder().id(id).name("appName" + id).content("appContent" + id).contentHash("hash" + id)
+                .status(status).version(0L).build();
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.config.CacheConfig;
+import com.example.applicationflow.model.ApplicationChangeNotice;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheCoherenceTailerTest {
+
+    @Mock
+    private ApplicationChangeEventRepository eventRepository;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.APPLICATIONS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        cache.put("1", "cached1");
+        cache.put("2", "cached2");
+        cache.put("3", "cached3");
+    }
+
+    @DisplayName("poll() should evict applications changed after the last seen sequence number")
+    @Test
+    void shouldEvictChangedApplications() {
+        // Given
+        CacheCoherenceTailer tailer = startTailer(10, Duration.ofSeconds(10));
+        when(eventRepository.findChangesAfter(eq(10L), any())).thenReturn(List.of(notice(11, "1"), notice(12, "2")));
+
+        // When
+        tailer.poll();
+
+        // Then
+        assertNull(cache.get("1"));
+        assertNull(cache.get("2"));
+        assertNotNull(cache.get("3"));
+        assertEquals(12, tailer.getLastSequenceNumber());
+        assertEquals(2, meterRegistry.get("applicationflow.cache.coherence.staleness").timer().count());
+    }
+
+    @DisplayName("poll() should remember skipped sequence numbers and evict once they commit")
+    @Test
+    void shouldEvictLateCommittedChange() {
+        // Given
+        CacheCoherenceTailer tailer = startTailer(10, Duration.ofSeconds(10));
+        when(eventRepository.findChangesAfter(eq(10L), any())).thenReturn(List.of(notice(12, "2")));
+        tailer.poll();
+        when(eventRepository.findChangesIn(List.of(11L))).thenReturn(List.of(notice(11, "3")));
+        when(eventRepository.findChangesAfter(eq(12L), any())).thenReturn(List.of());
+
+        // When
+        tailer.poll();
+
+        // Then
+        assertNull(cache.get("3"));
+        assertNotNull(cache.get("1"));
+        assertEquals(0, tailer.getGapCount());
+    }
+
+    @DisplayName("poll() should give up on a gap after the timeout")
+    @Test
+    void shouldExpireGap() {
+        // Given
+        CacheCoherenceTailer tailer = startTailer(10, Duration.ZERO);
+        when(eventRepository.findChangesAfter(eq(10L), any())).thenReturn(List.of(notice(12, "2")));
+        tailer.poll();
+        when(eventRepository.findChangesIn(List.of(11L))).thenReturn(List.of());
+        when(eventRepository.findChangesAfter(eq(12L), any())).thenReturn(List.of());
+
+        // When
+        tailer.poll();
+
+        // Then
+        assertEquals(0, tailer.getGapCount());
+        assertEquals(1, meterRegistry.get("applicationflow.cache.coherence.gaps.expired").counter().count());
+    }
+
+    @DisplayName("poll() should not track gaps for a sequence jump beyond max-gaps")
+    @Test
+    void shouldNotTrackLargeJump() {
+        // Given
+        CacheCoherenceTailer tailer = startTailer(10, Duration.ofSeconds(10));
+        when(eventRepository.findChangesAfter(anyLong(), any())).thenReturn(List.of(notice(5000, "1")), List.of());
+
+        // When
+        tailer.poll();
+
+        // Then
+        assertNull(cache.get("1"));
+        assertEquals(0, tailer.getGapCount());
+        assertEquals(5000, tailer.getLastSequenceNumber());
+    }
+
+    private CacheCoherenceTailer startTailer(long lastSequenceNumber, Duration gapTimeout) {
+        when(eventRepository.findMaxSequenceNumber()).thenReturn(lastSequenceNumber);
+        CacheCoherenceTailer tailer = new CacheCoherenceTailer(eventRepository, cacheManager, meterRegistry, 100, 100, gapTimeout);
+        tailer.start();
+        return tailer;
+    }
+
+    private static ApplicationChangeNotice notice(long sequenceNumber, String applicationId) {
+        return new ApplicationChangeNotice(sequenceNumber, applicationId, Instant.now());
+    }
+
+}
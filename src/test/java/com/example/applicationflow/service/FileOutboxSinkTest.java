@@ -0,0 +1,40 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.OutboxMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileOutboxSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("deliver() should append one line with offset and event per message")
+    @Test
+    void shouldAppendMessagesAsLines() throws IOException {
+        // Given
+        Path file = directory.resolve("outbox.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(file);
+
+        // When
+        sink.deliver(List.of(message(1, "{\"applicationId\":\"a\"}")));
+        sink.deliver(List.of(message(2, "{\"applicationId\":\"b\"}")));
+
+        // Then
+        assertEquals(List.of("{\"offset\":1,\"event\":{\"applicationId\":\"a\"}}", "{\"offset\":2,\"event\":{\"applicationId\":\"b\"}}"),
+                Files.readAllLines(file));
+    }
+
+    private static OutboxMessage message(long id, String payload) {
+        return OutboxMessage.builder().id(id).payload(payload).build();
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.ApplicationChangeEvent;
+import com.example.applicationflow.repository.ApplicationChangeEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class GroupCommitEventJournalTest {
+
+    @Mock
+    private ApplicationChangeEventRepository eventRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventOutbox eventOutbox;
+    @Mock
+    private ApplicationChangeFeed changeFeed;
+
+    @DisplayName("GROUP_COMMIT should return only after the event has been written")
+    @Test
+    void shouldAckAfterGroupCommit() throws InterruptedException {
+        // Given
+        GroupCommitEventJournal journal = journal(JournalAckMode.GROUP_COMMIT, 16);
+        journal.start();
+        ApplicationChangeEvent event = ApplicationChangeEvent.builder().applicationId("1").build();
+
+        // When
+        journal.append(event);
+
+        // Then
+        verify(eventRepository).saveAll(argThat(events -> events.iterator().next() == event));
+        journal.stop();
+    }
+
+    @DisplayName("FIRE_AND_FORGET should drop events instead of blocking when the buffer is full")
+    @Test
+    void shouldDropWhenBufferFull() {
+        // Given
+        GroupCommitEventJournal journal = journal(JournalAckMode.FIRE_AND_FORGET, 1);
+
+        // When
+        journal.append(ApplicationChangeEvent.builder().applicationId("1").build());
+        journal.append(ApplicationChangeEvent.builder().applicationId("2").build());
+
+        // Then
+        assertEquals(1, journal.getDroppedEvents());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @DisplayName("A failed group should be parked and written on retry, without failing the caller")
+    @Test
+    void shouldRetryFailedGroup() throws InterruptedException {
+        // Given
+        GroupCommitEventJournal journal = journal(JournalAckMode.GROUP_COMMIT, 16);
+        when(eventRepository.saveAll(any()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(List.of());
+        journal.start();
+        ApplicationChangeEvent event = ApplicationChangeEvent.builder().eventId(UUID.randomUUID()).applicationId("1").build();
+
+        // When
+        assertDoesNotThrow(() -> journal.append(event));
+
+        // Then
+        verify(eventRepository, timeout(2000).times(2)).saveAll(argThat(events -> events.iterator().next() == event));
+        verify(changeFeed, timeout(2000)).publish(anyList());
+        journal.stop();
+        assertEquals(0, journal.getParkedEvents());
+        assertEquals(0, journal.getDroppedEvents());
+    }
+
+    private GroupCommitEventJournal journal(JournalAckMode ackMode, int capacity) {
+        return new GroupCommitEventJournal(eventRepository, new TransactionTemplate(transactionManager), eventOutbox, changeFeed,
+                ackMode, capacity, 100, Duration.ofSeconds(5), Duration.ofMillis(10));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.model.OutboxMessage;
+import com.example.applicationflow.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxMessageRepository outboxRepository;
+    @Mock
+    private OutboxSink sink;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, sink, transactionManager, meterRegistry, 1, 2,
+                Duration.ofMillis(100), Duration.ofDays(1));
+    }
+
+    @DisplayName("relayPending() should deliver locked batches and mark them delivered until the backlog is drained")
+    @Test
+    void shouldDeliverAndMarkBatches() {
+        // Given
+        List<OutboxMessage> first = List.of(message(1), message(2));
+        List<OutboxMessage> second = List.of(message(3));
+        when(outboxRepository.lockPending(2)).thenReturn(first, second);
+
+        // When
+        relay.relayPending();
+
+        // Then
+        verify(sink).deliver(first);
+        verify(sink).deliver(second);
+        verify(outboxRepository).markDelivered(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository).markDelivered(eq(List.of(3L)), any());
+        assertEquals(3, meterRegistry.get("applicationflow.outbox.delivered").counter().count());
+    }
+
+    @DisplayName("relayPending() should leave a batch undelivered when the sink fails")
+    @Test
+    void shouldNotMarkFailedBatch() {
+        // Given
+        List<OutboxMessage> batch = List.of(message(1));
+        when(outboxRepository.lockPending(2)).thenReturn(batch);
+        doThrow(new IllegalStateException("sink down")).when(sink).deliver(batch);
+
+        // When
+        relay.relayPending();
+
+        // Then
+        verify(outboxRepository, never()).markDelivered(anyList(), any());
+        verify(transactionManager, times(1)).rollback(any());
+        assertEquals(1, meterRegistry.get("applicationflow.outbox.failed").counter().count());
+    }
+
+    private static OutboxMessage message(long id) {
+        return OutboxMessage.builder().id(id).applicationId("app" + id).payload("{}").build();
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.exception.ApplicationVersionMismatchException;
+import com.example.applicationflow.exception.InvalidStatusException;
+import com.example.applicationflow.model.ApplicationAction;
+import com.example.applicationflow.model.ApplicationChange;
+import com.example.applicationflow.model.ApplicationChangeEventRow;
+import com.example.applicationflow.model.ApplicationRow;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.repository.ReactiveApplicationChangeEventRepository;
+import com.example.applicationflow.repository.ReactiveApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveApplicationServiceImplTest {
+
+    @Mock
+    private ReactiveApplicationRepository applicationRepository;
+    @Mock
+    private ReactiveApplicationChangeEventRepository eventRepository;
+    @Mock
+    private DatabaseClient databaseClient;
+    @Mock
+    private TransactionalOperator transactionalOperator;
+    @Mock
+    private ApplicationEventOutbox eventOutbox;
+    @Mock
+    private ApplicationStatusCounters statusCounters;
+    @Mock
+    private ApplicationChangeFeed changeFeed;
+
+    private ReactiveApplicationServiceImpl applicationService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(eventRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        applicationService = new ReactiveApplicationServiceImpl(applicationRepository, eventRepository, databaseClient,
+                transactionalOperator, new RandomUuidGenerator(), eventOutbox, statusCounters, changeFeed,
+                3, Duration.ZERO);
+    }
+
+    @DisplayName("transition() should write the event, then update counters and the change feed")
+    @Test
+    void shouldRecordTransition() {
+        // Given
+        when(applicationRepository.updateStatus(eq("1"), anyCollection(), eq("VERIFIED"))).thenReturn(Mono.just(1));
+        when(applicationRepository.findById("1")).thenReturn(Mono.just(verified()));
+
+        // When
+        // Then
+        StepVerifier.create(applicationService.transition("1", ApplicationAction.VERIFY, null, null))
+                .assertNext(application -> {
+                    assertEquals(ApplicationStatus.VERIFIED, application.getStatus());
+                    assertEquals(1L, application.getVersion());
+                })
+                .verifyComplete();
+        ArgumentCaptor<ApplicationChangeEventRow> event = ArgumentCaptor.forClass(ApplicationChangeEventRow.class);
+        verify(eventRepository).save(event.capture());
+        assertEquals(ApplicationStatus.VERIFIED.ordinal(), event.getValue().getStatus());
+        verify(statusCounters).recordTransition(ApplicationStatus.CREATED, ApplicationStatus.VERIFIED);
+        verify(changeFeed).publish(any(ApplicationChange.class));
+    }
+
+    @DisplayName("transition() should retry a lost race in a new transaction")
+    @Test
+    void shouldRetryLostRace() {
+        // Given
+        when(applicationRepository.updateStatus(eq("1"), anyCollection(), eq("VERIFIED")))
+                .thenReturn(Mono.just(0), Mono.just(1));
+        when(applicationRepository.findStatusById("1")).thenReturn(Mono.just("CREATED"));
+        when(applicationRepository.findById("1")).thenReturn(Mono.just(verified()));
+
+        // When
+        // Then
+        StepVerifier.create(applicationService.transition("1", ApplicationAction.VERIFY, null, null))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(applicationRepository, times(2)).updateStatus(eq("1"), anyCollection(), eq("VERIFIED"));
+        verify(changeFeed, times(1)).publish(any(ApplicationChange.class));
+    }
+
+    @DisplayName("transition() should fail with InvalidStatusException when the status does not allow the action")
+    @Test
+    void shouldRejectInvalidStatus() {
+        // Given
+        when(applicationRepository.updateStatus(eq("1"), anyCollection(), eq("PUBLISHED"))).thenReturn(Mono.just(0));
+        when(applicationRepository.findStatusById("1")).thenReturn(Mono.just("CREATED"));
+
+        // When
+        // Then
+        StepVerifier.create(applicationService.transition("1", ApplicationAction.PUBLISH, null, null))
+                .expectError(InvalidStatusException.class)
+                .verify();
+        verify(eventRepository, never()).save(any());
+        verify(changeFeed, never()).publish(any(ApplicationChange.class));
+    }
+
+    @DisplayName("transition() should report a version mismatch without retrying")
+    @Test
+    void shouldRejectVersionMismatch() {
+        // Given
+        when(applicationRepository.updateStatusAtVersion(eq("1"), anyCollection(), eq("VERIFIED"), eq(4L))).thenReturn(Mono.just(0));
+        when(applicationRepository.findStatusById("1")).thenReturn(Mono.just("CREATED"));
+
+        // When
+        // Then
+        StepVerifier.create(applicationService.transition("1", ApplicationAction.VERIFY, null, 4L))
+                .expectError(ApplicationVersionMismatchException.class)
+                .verify();
+        verify(applicationRepository, times(1)).updateStatusAtVersion(any(), anyCollection(), any(), anyLong());
+    }
+
+    @DisplayName("transition() should complete empty for an unknown application")
+    @Test
+    void shouldCompleteEmptyForUnknownApplication() {
+        // Given
+        when(applicationRepository.updateStatus(eq("unknown"), anyCollection(), eq("VERIFIED"))).thenReturn(Mono.just(0));
+        when(applicationRepository.findStatusById("unknown")).thenReturn(Mono.empty());
+
+        // When
+        // Then
+        StepVerifier.create(applicationService.transition("unknown", ApplicationAction.VERIFY, null, null))
+                .verifyComplete();
+        verify(statusCounters, never()).recordTransition(any(), any());
+    }
+
+    private static ApplicationRow verified() {
+        return ApplicationRow.builder()
+                .id("1")
+                .name("app1")
+                .content("content")
+                .contentHash(ApplicationContentStore.hashOf("content"))
+                .status(ApplicationStatus.VERIFIED)
+                .previousStatus(ApplicationStatus.CREATED)
+                .version(1L)
+                .build();
+    }
+
+}
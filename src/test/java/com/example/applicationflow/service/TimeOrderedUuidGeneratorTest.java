@@ -0,0 +1,51 @@
+package com.example.applicationflow.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private final TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+
+    @DisplayName("next() should create version 7 UUIDs carrying the current Unix time in milliseconds")
+    @Test
+    void shouldCreateVersion7Uuid() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID id = generator.next();
+
+        // Then
+        long after = System.currentTimeMillis();
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after + 1);
+    }
+
+    @DisplayName("next() should be strictly increasing, in both binary and string order, within one millisecond")
+    @Test
+    void shouldBeStrictlyIncreasing() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.next());
+        }
+
+        // Then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(), ids.get(i).getMostSignificantBits()) < 0);
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0);
+        }
+    }
+
+}
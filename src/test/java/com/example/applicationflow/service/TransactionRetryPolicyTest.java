@@ -0,0 +1,79 @@
+package com.example.applicationflow.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionRetryPolicyTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @DisplayName("execute() should retry concurrency failures, each attempt in its own transaction")
+    @Test
+    void shouldRetryConcurrencyFailure() {
+        // Given
+        TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(transactionManager, 3, Duration.ZERO);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("locked");
+            }
+            return "done";
+        });
+
+        // Then
+        assertEquals("done", result);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @DisplayName("execute() should give up after max attempts")
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(transactionManager, 2, Duration.ZERO);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        // Then
+        assertThrows(OptimisticLockingFailureException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("lost race");
+        }));
+        assertEquals(2, attempts.get());
+    }
+
+    @DisplayName("execute() should not retry other failures")
+    @Test
+    void shouldNotRetryOtherFailures() {
+        // Given
+        TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(transactionManager, 3, Duration.ZERO);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        // Then
+        assertThrows(IllegalStateException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("broken");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.example.applicationflow.service;
+
+import com.example.applicationflow.exception.ApplicationLeaseLostException;
+import com.example.applicationflow.model.Application;
+import com.example.applicationflow.model.ApplicationLease;
+import com.example.applicationflow.model.ApplicationStatus;
+import com.example.applicationflow.repository.ApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkQueueServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    private WorkQueueService workQueueService;
+
+    @BeforeEach
+    void setUp() {
+        workQueueService = new WorkQueueService(applicationRepository, Duration.ofMinutes(5), 3);
+    }
+
+    @DisplayName("claim() should lease the locked applications to the worker, capped at max-claim")
+    @Test
+    void shouldLeaseLockedApplications() {
+        // Given
+        Application first = Application.builder().id("1").name("app1").status(ApplicationStatus.CREATED).version(0L).build();
+        Application second = Application.builder().id("2").name("app2").status(ApplicationStatus.CREATED).version(0L).build();
+        when(applicationRepository.lockUnleased(eq("CREATED"), any(), eq(3))).thenReturn(List.of(first, second));
+
+        // When
+        List<ApplicationLease> leases = workQueueService.claim(ApplicationStatus.CREATED, "reviewer-1", 50);
+
+        // Then
+        assertEquals(List.of("1", "2"), leases.stream().map(lease -> lease.getApplication().getId()).toList());
+        assertEquals("reviewer-1", leases.get(0).getOwner());
+        assertTrue(leases.get(0).getExpiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(4))));
+        verify(applicationRepository).lease(eq(List.of("1", "2")), eq("reviewer-1"), eq(leases.get(0).getExpiresAt()));
+    }
+
+    @DisplayName("claim() should not update anything when no application is free")
+    @Test
+    void shouldReturnNothingWhenAllLeased() {
+        // Given
+        when(applicationRepository.lockUnleased(eq("VERIFIED"), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        List<ApplicationLease> leases = workQueueService.claim(ApplicationStatus.VERIFIED, "reviewer-1", 10);
+
+        // Then
+        assertTrue(leases.isEmpty());
+        verify(applicationRepository, never()).lease(any(), any(), any());
+    }
+
+    @DisplayName("renew() should report a lost lease of an existing application and null for an unknown one")
+    @Test
+    void shouldRejectRenewWithoutLease() {
+        // Given
+        when(applicationRepository.renewLease(any(), eq("reviewer-2"), any())).thenReturn(0);
+        when(applicationRepository.findStatusById("1")).thenReturn(ApplicationStatus.CREATED);
+
+        // When
+        // Then
+        assertThrows(ApplicationLeaseLostException.class, () -> workQueueService.renew("1", "reviewer-2"));
+        assertNull(workQueueService.renew("unknown", "reviewer-2"));
+    }
+
+    @DisplayName("release() should clear a lease held by the worker")
+    @Test
+    void shouldReleaseLease() {
+        // Given
+        when(applicationRepository.releaseLease("1", "reviewer-1")).thenReturn(1);
+
+        // When
+        boolean released = workQueueService.release("1", "reviewer-1");
+
+        // Then
+        assertTrue(released);
+        verify(applicationRepository, never()).findStatusById(any());
+    }
+
+}